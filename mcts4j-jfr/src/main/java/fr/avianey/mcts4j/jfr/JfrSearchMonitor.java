@@ -0,0 +1,147 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.jfr;
+
+import fr.avianey.mcts4j.MonteCarloTreeSearch;
+import fr.avianey.mcts4j.SearchMonitor;
+import fr.avianey.mcts4j.Transition;
+import jdk.jfr.EventType;
+
+/**
+ * A {@link SearchMonitor} emitting Java Flight Recorder events :
+ * <ul>
+ * <li>fr.avianey.mcts4j.Search for each search</li>
+ * <li>fr.avianey.mcts4j.Phases for one iteration out of n</li>
+ * <li>fr.avianey.mcts4j.Reroot for each played transition</li>
+ * </ul>
+ * When no recording is running or when the events are disabled, phases are not measured, no event is created per
+ * search and the only cost is an empty event per played transition. A {@link JfrSearchMonitor} MUST NOT be shared between {@link MonteCarloTreeSearch}
+ * instances searching concurrently.
+ *
+ * <pre>
+ * mcts.setSearchMonitor(new JfrSearchMonitor&lt;&gt;());
+ * </pre>
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public class JfrSearchMonitor<T extends Transition> implements SearchMonitor<T> {
+
+    private static final EventType SEARCH = EventType.getEventType(SearchEvent.class);
+    private static final EventType PHASES = EventType.getEventType(PhasesEvent.class);
+
+    private final int sampling;
+    private SearchEvent search;
+
+    /**
+     * Sample the phases of one iteration out of 1024.
+     */
+    public JfrSearchMonitor() {
+        this(1024);
+    }
+
+    /**
+     * @param sampling The phases of one iteration out of sampling are measured
+     */
+    public JfrSearchMonitor(int sampling) {
+        if (sampling <= 0) {
+            throw new IllegalArgumentException("sampling must be positive");
+        }
+        this.sampling = sampling;
+    }
+
+    @Override
+    public void searchStarted() {
+        if (SEARCH.isEnabled()) {
+            search = new SearchEvent();
+            search.begin();
+        } else {
+            search = null;
+        }
+    }
+
+    @Override
+    public void searchCompleted(long iterations, long nanos, long createdNodes, T transition) {
+        SearchEvent event = end();
+        if (event != null) {
+            event.iterations = iterations;
+            event.createdNodes = createdNodes;
+            event.transition = String.valueOf(transition);
+            event.commit();
+        }
+    }
+
+    @Override
+    public void searchFailed(long iterations, long nanos, long createdNodes, Throwable failure) {
+        SearchEvent event = end();
+        if (event != null) {
+            event.iterations = iterations;
+            event.createdNodes = createdNodes;
+            event.failure = String.valueOf(failure);
+            event.commit();
+        }
+    }
+
+    /**
+     * End the event of the running search.
+     * @return the event or null if it should not be committed
+     */
+    private SearchEvent end() {
+        SearchEvent event = search;
+        search = null;
+        if (event == null) {
+            return null;
+        }
+        event.end();
+        return event.shouldCommit() ? event : null;
+    }
+
+    @Override
+    public int phaseSampling() {
+        return PHASES.isEnabled() ? sampling : 0;
+    }
+
+    @Override
+    public void phasesSampled(long selectionNanos, long expansionNanos, long simulationNanos,
+                              long backPropagationNanos) {
+        PhasesEvent event = new PhasesEvent();
+        if (event.shouldCommit()) {
+            event.selection = selectionNanos;
+            event.expansion = expansionNanos;
+            event.simulation = simulationNanos;
+            event.backPropagation = backPropagationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void rerooted(T transition, long discardedNodes, boolean reset, long nodes) {
+        RerootEvent event = new RerootEvent();
+        if (event.shouldCommit()) {
+            event.transition = String.valueOf(transition);
+            event.discardedNodes = discardedNodes;
+            event.reset = reset;
+            event.nodes = nodes;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A call to getBestTransition, the duration of the event being the one of the search.
+ *
+ * @author antoine vianey
+ */
+@Name("fr.avianey.mcts4j.Search")
+@Label("MCTS Search")
+@Category("MCTS")
+@Description("Search of the best transition")
+class SearchEvent extends Event {
+
+    @Label("Iterations")
+    long iterations;
+
+    @Label("Created Nodes")
+    long createdNodes;
+
+    @Label("Transition")
+    @Description("The chosen transition")
+    String transition;
+
+    @Label("Failure")
+    @Description("The exception thrown by the search, if any")
+    String failure;
+
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample;
+
+import fr.avianey.mcts4j.Transition;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A live {@link java.util.Set} view of the possible transitions of a bitboard based game.<br/>
+ * Each possible {@link Transition} is identified by the index of a set bit in the words returned by
+ * {@link #word(int)}, the game being responsible for mapping an index to a (preferably shared) {@link Transition}
+ * instance. The view is never copied : its content changes as soon as the game state changes, so it MUST NOT be
+ * kept across calls to makeTransition / unmakeTransition. {@link #size()}, {@link #isEmpty()},
+ * {@link #contains(Object)}, {@link #random()} and {@link #forEach(Consumer)} do not allocate anything, whereas
+ * {@link #iterator()} allocates a small iterator on each call (as does a for-each loop over the set).
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public abstract class BitboardMoveSet<T extends Transition> extends AbstractSet<T> {
+
+    private final int words;
+    /** xorshift state, see {@link #random()} */
+    private long seed;
+
+    /**
+     * @param words The number of 64 bits words of the bitboard
+     */
+    protected BitboardMoveSet(int words) {
+        this.words = words;
+        this.seed = System.nanoTime() | 1;
+    }
+
+    /**
+     * The i-th word of possible transitions, each set bit being a possible transition.
+     * @param i index of the word
+     * @return
+     */
+    protected abstract long word(int i);
+
+    /**
+     * @param index the index of a set bit
+     * @return The {@link Transition} for the given index
+     */
+    protected abstract T transition(int index);
+
+    /**
+     * @param o an object
+     * @return The index of the given object or -1 if the object is not a {@link Transition} of the game
+     */
+    protected abstract int index(Object o);
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < words; i++) {
+            size += Long.bitCount(word(i));
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (int i = 0; i < words; i++) {
+            if (word(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        int index = index(o);
+        return index >= 0 && (word(index >>> 6) & (1L << index)) != 0
+                && transition(index).equals(o);
+    }
+
+    /**
+     * Pick a random possible {@link Transition} with an uniform distribution.
+     * @return a random {@link Transition} or null if the set is empty
+     */
+    public T random() {
+        int size = size();
+        if (size == 0) {
+            return null;
+        }
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        int n = (int) ((seed >>> 1) % size);
+        for (int i = 0; i < words; i++) {
+            long w = word(i);
+            int count = Long.bitCount(w);
+            if (n < count) {
+                for (; n > 0; n--) {
+                    w &= w - 1;
+                }
+                return transition((i << 6) + Long.numberOfTrailingZeros(w));
+            }
+            n -= count;
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Walk the possible transitions without allocating an iterator.
+     * @param action The action to run for each possible {@link Transition}
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < words; i++) {
+            for (long w = word(i); w != 0; w &= w - 1) {
+                action.accept(transition((i << 6) + Long.numberOfTrailingZeros(w)));
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private int i = 0;
+            private long w = words > 0 ? word(0) : 0;
+
+            @Override
+            public boolean hasNext() {
+                while (w == 0 && i < words - 1) {
+                    w = word(++i);
+                }
+                return w != 0;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = (i << 6) + Long.numberOfTrailingZeros(w);
+                w &= w - 1;
+                return transition(index);
+            }
+
+        };
+    }
+
+}
@@ -34,16 +34,34 @@ import java.util.Set;
 public abstract class SampleRunner<T extends Transition> {
 
     public interface Listener<T extends Transition> {
+        /** Called once the best {@link Transition} has been searched, before it is played */
+        default void onSearched(MonteCarloTreeSearch<T> mcts, T transition, long nanos) {}
         void onMove(MonteCarloTreeSearch<T> mcts, T transition, int turn);
         void onGameOver(MonteCarloTreeSearch<T> mcts);
         void onNoPossibleMove(MonteCarloTreeSearch<T> mcts);
     }
 
     private MonteCarloTreeSearch<T> mcts;
+    private MonteCarloTreeSearch<T> opponent;
     private Listener<T> listener;
 
+    /**
+     * A game where the same {@link MonteCarloTreeSearch} plays every player.
+     * @param mcts
+     */
     public SampleRunner(MonteCarloTreeSearch<T> mcts) {
+        this(mcts, mcts);
+    }
+
+    /**
+     * A game between two {@link MonteCarloTreeSearch} in the same initial state.
+     * Each one keeps its own state and tree, and plays the transitions of the other.
+     * @param mcts The {@link MonteCarloTreeSearch} playing for the player that starts
+     * @param opponent The {@link MonteCarloTreeSearch} playing for the other players
+     */
+    public SampleRunner(MonteCarloTreeSearch<T> mcts, MonteCarloTreeSearch<T> opponent) {
         this.mcts = mcts;
+        this.opponent = opponent;
     }
 
     public void setListener(Listener<T> listener) {
@@ -53,17 +71,26 @@ public abstract class SampleRunner<T extends Transition> {
     public void run() {
         T transition;
         int turn = 0;
+        final int first = mcts.getCurrentPlayer();
         while (!mcts.isOver()) {
-            Set<T> transitions = mcts.getPossibleTransitions();
+            MonteCarloTreeSearch<T> player = mcts.getCurrentPlayer() == first ? mcts : opponent;
+            Set<T> transitions = player.getPossibleTransitions();
             if (!transitions.isEmpty()) {
-                transition = mcts.getBestTransition();
+                long start = System.nanoTime();
+                transition = player.getBestTransition();
+                if (listener != null) {
+                    listener.onSearched(player, transition, System.nanoTime() - start);
+                }
                 mcts.doTransition(transition);
+                if (opponent != mcts) {
+                    opponent.doTransition(transition);
+                }
                 if (listener != null) {
-                    listener.onMove(mcts, transition, ++turn);
+                    listener.onMove(player, transition, ++turn);
                 }
             } else {
                 if (listener != null) {
-                    listener.onNoPossibleMove(mcts);
+                    listener.onNoPossibleMove(player);
                 }
             }
         }
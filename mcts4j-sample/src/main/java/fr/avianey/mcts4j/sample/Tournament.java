@@ -0,0 +1,250 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample;
+
+import fr.avianey.mcts4j.MonteCarloTreeSearch;
+import fr.avianey.mcts4j.SearchBudget;
+import fr.avianey.mcts4j.Transition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Play many games between two engine configurations in parallel to measure their relative strength.<br/>
+ * Both configurations are given the same {@link SearchBudget} for each move and play first alternatively.
+ * Games are played with {@link SampleRunner}, a {@link SampleRunner.Listener} measuring the time spent by each
+ * side searching its moves.
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public class Tournament<T extends Transition> {
+
+    private final Supplier<? extends MonteCarloTreeSearch<T>> a;
+    private final Supplier<? extends MonteCarloTreeSearch<T>> b;
+    private final SearchBudget budget;
+    private final int threads;
+
+    /**
+     * @param a Creates a new game for the first configuration
+     * @param b Creates a new game for the second configuration
+     * @param budget The {@link SearchBudget} given to both configurations for each move
+     * @param threads The number of games played concurrently
+     */
+    public Tournament(Supplier<? extends MonteCarloTreeSearch<T>> a, Supplier<? extends MonteCarloTreeSearch<T>> b,
+                      SearchBudget budget, int threads) {
+        this.a = a;
+        this.b = b;
+        this.budget = budget;
+        this.threads = threads;
+    }
+
+    /**
+     * Play the given number of games.
+     * @param games The number of games, the first configuration plays first in even games
+     * @return The {@link Result} from the point of view of the first configuration
+     * @throws ExecutionException if a game failed
+     * @throws InterruptedException
+     */
+    public Result run(final int games) throws ExecutionException, InterruptedException {
+        final Result result = new Result();
+        final AtomicLong next = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    long game;
+                    while ((game = next.getAndIncrement()) < games) {
+                        play(game % 2 == 0, result);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    /**
+     * Play a single game.
+     * @param aFirst whether the first configuration plays first
+     */
+    private void play(final boolean aFirst, final Result result) {
+        final MonteCarloTreeSearch<T> engineA = a.get();
+        final MonteCarloTreeSearch<T> engineB = b.get();
+        engineA.setBudget(budget);
+        engineB.setBudget(budget);
+        final int first = engineA.getCurrentPlayer();
+        SampleRunner<T> runner = aFirst ?
+                new SampleRunner<T>(engineA, engineB) {} :
+                new SampleRunner<T>(engineB, engineA) {};
+        runner.setListener(new SampleRunner.Listener<T>() {
+
+            private int second = -1;
+
+            @Override
+            public void onSearched(MonteCarloTreeSearch<T> mcts, T transition, long nanos) {
+                if (mcts == engineA) {
+                    result.aTime.addAndGet(nanos);
+                    result.aMoves.incrementAndGet();
+                } else {
+                    result.bTime.addAndGet(nanos);
+                    result.bMoves.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void onMove(MonteCarloTreeSearch<T> mcts, T transition, int turn) {
+                if (turn == 1) {
+                    second = mcts.getCurrentPlayer();
+                }
+            }
+
+            @Override
+            public void onGameOver(MonteCarloTreeSearch<T> mcts) {
+                int winner = mcts.getWinner();
+                int playerA = aFirst ? first : second;
+                int playerB = aFirst ? second : first;
+                if (winner == playerA) {
+                    result.wins.incrementAndGet();
+                } else if (winner == playerB) {
+                    result.losses.incrementAndGet();
+                } else {
+                    result.draws.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void onNoPossibleMove(MonteCarloTreeSearch<T> mcts) {}
+
+        });
+        runner.run();
+    }
+
+    /**
+     * Outcome of a {@link Tournament} from the point of view of the first configuration.
+     */
+    public static class Result {
+
+        private final AtomicLong wins = new AtomicLong();
+        private final AtomicLong draws = new AtomicLong();
+        private final AtomicLong losses = new AtomicLong();
+        private final AtomicLong aTime = new AtomicLong();
+        private final AtomicLong aMoves = new AtomicLong();
+        private final AtomicLong bTime = new AtomicLong();
+        private final AtomicLong bMoves = new AtomicLong();
+
+        public long getWins() {
+            return wins.get();
+        }
+
+        public long getDraws() {
+            return draws.get();
+        }
+
+        public long getLosses() {
+            return losses.get();
+        }
+
+        public long getGames() {
+            return getWins() + getDraws() + getLosses();
+        }
+
+        /**
+         * @return The mean score of the first configuration : 1 per win, 0.5 per draw, 0 if no game has been played
+         */
+        public double getScore() {
+            long games = getGames();
+            return games == 0 ? 0 : (getWins() + getDraws() / 2.0) / games;
+        }
+
+        /**
+         * @return The Elo difference between the first and the second configuration
+         */
+        public double getElo() {
+            return elo(getScore());
+        }
+
+        /**
+         * @param z The number of standard deviations, 1.96 for a 95% confidence interval
+         * @return The lower and upper bounds of the Elo difference
+         */
+        public double[] getEloInterval(double z) {
+            double n = getGames();
+            if (n == 0) {
+                return new double[] {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+            }
+            double score = getScore();
+            double variance = (getWins() * sq(1 - score) + getDraws() * sq(0.5 - score) + getLosses() * sq(score)) / n;
+            double margin = z * Math.sqrt(variance / n);
+            return new double[] {elo(score - margin), elo(score + margin)};
+        }
+
+        /**
+         * @return Mean time per move of the first configuration in milliseconds
+         */
+        public double getMeanTimeA() {
+            return aTime.get() / 1e6 / Math.max(1, aMoves.get());
+        }
+
+        /**
+         * @return Mean time per move of the second configuration in milliseconds
+         */
+        public double getMeanTimeB() {
+            return bTime.get() / 1e6 / Math.max(1, bMoves.get());
+        }
+
+        private static double sq(double d) {
+            return d * d;
+        }
+
+        private static double elo(double score) {
+            if (score <= 0) {
+                return Double.NEGATIVE_INFINITY;
+            } else if (score >= 1) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return -400 * Math.log10(1 / score - 1);
+        }
+
+        @Override
+        public String toString() {
+            double[] interval = getEloInterval(1.96);
+            return String.format(Locale.ROOT,
+                    "+%d =%d -%d (%d games) score %.3f Elo %+.1f [%+.1f, %+.1f] time/move %.2fms vs %.2fms",
+                    getWins(), getDraws(), getLosses(), getGames(), getScore(),
+                    getElo(), interval[0], interval[1], getMeanTimeA(), getMeanTimeB());
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.connectfour;
+
+import fr.avianey.mcts4j.UCT;
+import fr.avianey.mcts4j.sample.BitboardMoveSet;
+
+import java.util.Set;
+
+/**
+ * Connect Four IA using one bitboard per player.<br/>
+ * Each column is stored on {@link #HEIGHT} + 1 bits, the extra bit on top of each column allowing to detect
+ * alignments with a few shifts of the board of the player that just moved. Possible transitions are a live view
+ * of the non full columns (see {@link BitboardMoveSet}). Playing and unplaying transitions and random playouts do
+ * not allocate anything.
+ *
+ * @author antoine vianey
+ */
+public class ConnectFourIA extends UCT<ConnectFourTransition> {
+
+    static final int FREE           = 0;
+    static final int PLAYER_RED     = 1;
+    static final int PLAYER_YELLOW  = 2;
+
+    static final int WIDTH          = 7;
+    static final int HEIGHT         = 6;
+    private static final int H1     = HEIGHT + 1;
+    private static final long ALL_COLUMNS = (1L << WIDTH) - 1;
+
+    /** Bitboards by player */
+    private final long[] boards = new long[3];
+    /** Index of the next free bit of each column */
+    private final int[] heights = new int[WIDTH];
+    private final Moves moves = new Moves();
+
+    /** Bit i is set when column i is not full */
+    private long playable;
+    private int currentPlayer;
+    private int winner;
+    private int turn;
+
+    public ConnectFourIA() {
+        super();
+        newGame();
+    }
+
+    public void newGame() {
+        boards[PLAYER_RED] = 0;
+        boards[PLAYER_YELLOW] = 0;
+        for (int column = 0; column < WIDTH; column++) {
+            heights[column] = column * H1;
+        }
+        playable = ALL_COLUMNS;
+        // red start to play
+        currentPlayer = PLAYER_RED;
+        winner = FREE;
+        turn = 0;
+    }
+
+    @Override
+    public boolean isOver() {
+        return winner != FREE || turn == WIDTH * HEIGHT;
+    }
+
+    @Override
+    public void makeTransition(ConnectFourTransition transition) {
+        int column = transition.getColumn();
+        if ((playable & (1L << column)) == 0) {
+            throw new RuntimeException();
+        }
+        int height = heights[column]++;
+        if (height == column * H1 + HEIGHT - 1) {
+            playable &= ~(1L << column);
+        }
+        long board = boards[currentPlayer] |= 1L << height;
+        if (aligned(board)) {
+            winner = currentPlayer;
+        }
+        turn++;
+        currentPlayer = 3 - currentPlayer;
+    }
+
+    @Override
+    public void unmakeTransition(ConnectFourTransition transition) {
+        int column = transition.getColumn();
+        int player = 3 - currentPlayer;
+        int height = --heights[column];
+        if (height < column * H1 || (boards[player] & (1L << height)) == 0) {
+            heights[column]++;
+            throw new RuntimeException();
+        }
+        boards[player] &= ~(1L << height);
+        playable |= 1L << column;
+        // the game stops at the first win
+        winner = FREE;
+        turn--;
+        currentPlayer = player;
+    }
+
+    /**
+     * Check for four aligned discs : vertical, horizontal and both diagonals.
+     */
+    private static boolean aligned(long board) {
+        long m = board & (board >> 1);
+        if ((m & (m >> 2)) != 0) {
+            return true;
+        }
+        m = board & (board >> H1);
+        if ((m & (m >> (2 * H1))) != 0) {
+            return true;
+        }
+        m = board & (board >> HEIGHT);
+        if ((m & (m >> (2 * HEIGHT))) != 0) {
+            return true;
+        }
+        m = board & (board >> (H1 + 1));
+        return (m & (m >> (2 * (H1 + 1)))) != 0;
+    }
+
+    /**
+     * @return A live view of the possible transitions, see {@link BitboardMoveSet}
+     */
+    @Override
+    public Set<ConnectFourTransition> getPossibleTransitions() {
+        return moves;
+    }
+
+    @Override
+    public ConnectFourTransition simulationTransition() {
+        return moves.random();
+    }
+
+    @Override
+    public ConnectFourTransition expansionTransition() {
+        return moves.random();
+    }
+
+    /**
+     * @return the winner or {@link #DRAW}
+     */
+    @Override
+    public int getWinner() {
+        return winner == FREE ? DRAW : winner;
+    }
+
+    @Override
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int row = HEIGHT - 1; row >= 0; row--) {
+            for (int column = 0; column < WIDTH; column++) {
+                long bit = 1L << (column * H1 + row);
+                sb.append((boards[PLAYER_RED] & bit) != 0 ? "R" : ((boards[PLAYER_YELLOW] & bit) != 0 ? "Y" : "."));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    private class Moves extends BitboardMoveSet<ConnectFourTransition> {
+
+        private Moves() {
+            super(1);
+        }
+
+        @Override
+        protected long word(int i) {
+            return winner != FREE ? 0 : playable;
+        }
+
+        @Override
+        protected ConnectFourTransition transition(int index) {
+            return ConnectFourTransition.of(index, currentPlayer);
+        }
+
+        @Override
+        protected int index(Object o) {
+            return o instanceof ConnectFourTransition ? ((ConnectFourTransition) o).getColumn() : -1;
+        }
+
+    }
+
+}
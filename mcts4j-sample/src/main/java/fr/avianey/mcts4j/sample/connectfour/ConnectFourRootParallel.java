@@ -0,0 +1,122 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.connectfour;
+
+import fr.avianey.mcts4j.MonteCarloTreeSearch;
+import fr.avianey.mcts4j.RootParallelCoordinator;
+import fr.avianey.mcts4j.RootParallelWorker;
+import fr.avianey.mcts4j.SearchBudget;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Play a game of ConnectFour where every move is searched by worker processes listening on the loopback interface :
+ * java ConnectFourRootParallel &lt;workers&gt; &lt;milliseconds per move&gt;<br/>
+ * Each worker is a new JVM started with the same class path and running java ConnectFourRootParallel worker.
+ *
+ * @author antoine vianey
+ */
+public class ConnectFourRootParallel {
+
+    private static final String WORKER = "worker";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && WORKER.equals(args[0])) {
+            worker();
+            return;
+        }
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        List<Process> processes = new ArrayList<>(count);
+        try {
+            List<InetSocketAddress> workers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Process process = startWorker();
+                processes.add(process);
+                workers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), readPort(process)));
+            }
+            play(workers, SearchBudget.time(millis, TimeUnit.MILLISECONDS));
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+    }
+
+    private static void play(List<InetSocketAddress> workers, SearchBudget budget) throws Exception {
+        ConnectFourIA game = new ConnectFourIA();
+        List<ConnectFourTransition> position = new ArrayList<>();
+        try (RootParallelCoordinator<ConnectFourTransition> coordinator = new RootParallelCoordinator<>(workers)) {
+            while (!game.isOver()) {
+                ConnectFourTransition transition = coordinator.search(position, budget);
+                long simulations = 0;
+                for (long[] statistics : coordinator.getStatistics().values()) {
+                    simulations += statistics[0];
+                }
+                game.doTransition(transition);
+                position.add(transition);
+                System.out.println(transition + " after " + simulations + " simulations");
+                System.out.println(game);
+            }
+        }
+        int winner = game.getWinner();
+        System.out.println(winner == MonteCarloTreeSearch.DRAW ? "Draw" : "Winner : " + winner);
+    }
+
+    private static Process startWorker() throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ConnectFourRootParallel.class.getName(), WORKER)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    /**
+     * A worker prints its port once ready to accept connections.
+     */
+    private static int readPort(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IOException("Worker exited before listening");
+        }
+        return Integer.parseInt(line.trim());
+    }
+
+    private static void worker() throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        try (RootParallelWorker<ConnectFourTransition> worker = new RootParallelWorker<>(ConnectFourIA::new, server)) {
+            System.out.println(server.getLocalPort());
+            System.out.flush();
+            worker.serve();
+        }
+    }
+
+}
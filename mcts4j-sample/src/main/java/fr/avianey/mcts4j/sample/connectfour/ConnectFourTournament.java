@@ -0,0 +1,47 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.connectfour;
+
+import fr.avianey.mcts4j.FinalMoveSelection;
+import fr.avianey.mcts4j.SearchBudget;
+import fr.avianey.mcts4j.UCB1Tuned;
+import fr.avianey.mcts4j.sample.Tournament;
+
+/**
+ * Compare UCB1-Tuned with robust child against the default configuration :
+ * java ConnectFourTournament &lt;games&gt; &lt;iterations&gt;
+ *
+ * @author antoine vianey
+ */
+public class ConnectFourTournament {
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long iterations = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        Tournament<ConnectFourTransition> tournament = new Tournament<>(() -> {
+            ConnectFourIA ia = new ConnectFourIA();
+            ia.setSelectionPolicy(new UCB1Tuned());
+            ia.setFinalMoveSelection(FinalMoveSelection.ROBUST_CHILD);
+            return ia;
+        }, ConnectFourIA::new, SearchBudget.iterations(iterations), Runtime.getRuntime().availableProcessors());
+        System.out.println(tournament.run(games));
+    }
+
+}
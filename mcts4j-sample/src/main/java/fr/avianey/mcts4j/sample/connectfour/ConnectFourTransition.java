@@ -0,0 +1,108 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.connectfour;
+
+import fr.avianey.mcts4j.Transition;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+
+/**
+ * A Connect Four move : who and in which column...
+ * Instances are shared, see {@link #of(int, int)}.
+ *
+ * @author antoine vianey
+ */
+public final class ConnectFourTransition implements Transition {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ConnectFourTransition[][] TRANSITIONS = new ConnectFourTransition[3][ConnectFourIA.WIDTH];
+
+    static {
+        for (int column = 0; column < ConnectFourIA.WIDTH; column++) {
+            TRANSITIONS[ConnectFourIA.PLAYER_RED][column] = new ConnectFourTransition(column, ConnectFourIA.PLAYER_RED);
+            TRANSITIONS[ConnectFourIA.PLAYER_YELLOW][column] = new ConnectFourTransition(column, ConnectFourIA.PLAYER_YELLOW);
+        }
+    }
+
+    /** The player owning the move */
+    private final int player;
+    /** The column where the disc is dropped */
+    private final int column;
+
+    private ConnectFourTransition(int column, int player) {
+        this.column = column;
+        this.player = player;
+    }
+
+    /**
+     * @param column The column where the disc is dropped
+     * @param player The player owning the move
+     * @return The shared {@link ConnectFourTransition}
+     * @throws IllegalArgumentException if the column or the player does not exist
+     */
+    public static ConnectFourTransition of(int column, int player) {
+        if (!isValid(column, player)) {
+            throw new IllegalArgumentException("No column " + column + " for player " + player);
+        }
+        return TRANSITIONS[player][column];
+    }
+
+    private static boolean isValid(int column, int player) {
+        return column >= 0 && column < ConnectFourIA.WIDTH
+                && (player == ConnectFourIA.PLAYER_RED || player == ConnectFourIA.PLAYER_YELLOW);
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    @Override
+    public int hashCode() {
+        return (player << 3) | column;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || (o instanceof ConnectFourTransition &&
+                ((ConnectFourTransition) o).player == player &&
+                ((ConnectFourTransition) o).column == column);
+    }
+
+    /**
+     * Keep instances shared when deserialized.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (!isValid(column, player)) {
+            throw new InvalidObjectException("No column " + column + " for player " + player);
+        }
+        return of(column, player);
+    }
+
+    public String toString() {
+        return (player == ConnectFourIA.PLAYER_RED ? "R" : "Y") + " (" + column + ")";
+    }
+
+}
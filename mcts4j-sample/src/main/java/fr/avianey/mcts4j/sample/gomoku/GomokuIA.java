@@ -0,0 +1,211 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.gomoku;
+
+import fr.avianey.mcts4j.UCT;
+import fr.avianey.mcts4j.sample.BitboardMoveSet;
+
+import java.util.Set;
+
+/**
+ * Free-style Gomoku IA (five or more in a row wins) on a 15x15 board.<br/>
+ * The board of each player is a bitboard made of {@link #WORDS} longs, cell y * {@link #SIZE} + x being
+ * bit (cell % 64) of word (cell / 64). Wins are detected incrementally by only counting the stones aligned
+ * with the last played cell, and possible transitions are a live view of the free cells
+ * (see {@link BitboardMoveSet}). Playing and unplaying transitions and random playouts do not allocate anything.
+ *
+ * @author antoine vianey
+ */
+public class GomokuIA extends UCT<GomokuTransition> {
+
+    static final int FREE           = 0;
+    static final int PLAYER_BLACK   = 1;
+    static final int PLAYER_WHITE   = 2;
+
+    static final int SIZE           = 15;
+    static final int CELLS          = SIZE * SIZE;
+    private static final int WORDS  = (CELLS + 63) / 64;
+    private static final int ROW    = 5;
+
+    /** dx, dy of the four directions to check */
+    private static final int[][] DIRECTIONS = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+
+    /** Bitboards by player */
+    private final long[][] boards = new long[3][WORDS];
+    /** Free cells */
+    private final long[] free = new long[WORDS];
+    private final Moves moves = new Moves();
+
+    private int currentPlayer;
+    private int winner;
+    private int turn;
+
+    public GomokuIA() {
+        super();
+        newGame();
+    }
+
+    public void newGame() {
+        for (int i = 0; i < WORDS; i++) {
+            boards[PLAYER_BLACK][i] = 0;
+            boards[PLAYER_WHITE][i] = 0;
+            free[i] = -1L;
+        }
+        // clear the bits after the last cell
+        free[WORDS - 1] = -1L >>> (WORDS * 64 - CELLS);
+        // black start to play
+        currentPlayer = PLAYER_BLACK;
+        winner = FREE;
+        turn = 0;
+    }
+
+    @Override
+    public boolean isOver() {
+        return winner != FREE || turn == CELLS;
+    }
+
+    @Override
+    public void makeTransition(GomokuTransition transition) {
+        int cell = transition.getCell();
+        long bit = 1L << cell;
+        if ((free[cell >>> 6] & bit) == 0) {
+            throw new RuntimeException();
+        }
+        free[cell >>> 6] &= ~bit;
+        long[] board = boards[currentPlayer];
+        board[cell >>> 6] |= bit;
+        if (aligned(board, cell)) {
+            winner = currentPlayer;
+        }
+        turn++;
+        currentPlayer = 3 - currentPlayer;
+    }
+
+    @Override
+    public void unmakeTransition(GomokuTransition transition) {
+        int cell = transition.getCell();
+        long bit = 1L << cell;
+        int player = 3 - currentPlayer;
+        if ((boards[player][cell >>> 6] & bit) == 0) {
+            throw new RuntimeException();
+        }
+        boards[player][cell >>> 6] &= ~bit;
+        free[cell >>> 6] |= bit;
+        // the game stops at the first win
+        winner = FREE;
+        turn--;
+        currentPlayer = player;
+    }
+
+    /**
+     * Count the stones aligned with the given cell in each direction.
+     */
+    private static boolean aligned(long[] board, int cell) {
+        int x = cell % SIZE;
+        int y = cell / SIZE;
+        for (int[] d : DIRECTIONS) {
+            int count = 1 + count(board, x, y, d[0], d[1]) + count(board, x, y, -d[0], -d[1]);
+            if (count >= ROW) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int count(long[] board, int x, int y, int dx, int dy) {
+        int count = 0;
+        for (x += dx, y += dy; x >= 0 && x < SIZE && y >= 0 && y < SIZE; x += dx, y += dy) {
+            int cell = y * SIZE + x;
+            if ((board[cell >>> 6] & (1L << cell)) == 0) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return A live view of the possible transitions, see {@link BitboardMoveSet}
+     */
+    @Override
+    public Set<GomokuTransition> getPossibleTransitions() {
+        return moves;
+    }
+
+    @Override
+    public GomokuTransition simulationTransition() {
+        return moves.random();
+    }
+
+    @Override
+    public GomokuTransition expansionTransition() {
+        return moves.random();
+    }
+
+    /**
+     * @return the winner or {@link #DRAW}
+     */
+    @Override
+    public int getWinner() {
+        return winner == FREE ? DRAW : winner;
+    }
+
+    @Override
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int cell = y * SIZE + x;
+                long bit = 1L << cell;
+                sb.append((boards[PLAYER_BLACK][cell >>> 6] & bit) != 0 ? "B" : ((boards[PLAYER_WHITE][cell >>> 6] & bit) != 0 ? "W" : "."));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    private class Moves extends BitboardMoveSet<GomokuTransition> {
+
+        private Moves() {
+            super(WORDS);
+        }
+
+        @Override
+        protected long word(int i) {
+            return winner != FREE ? 0 : free[i];
+        }
+
+        @Override
+        protected GomokuTransition transition(int index) {
+            return GomokuTransition.of(index, currentPlayer);
+        }
+
+        @Override
+        protected int index(Object o) {
+            return o instanceof GomokuTransition ? ((GomokuTransition) o).getCell() : -1;
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.gomoku;
+
+import fr.avianey.mcts4j.FinalMoveSelection;
+import fr.avianey.mcts4j.SearchBudget;
+import fr.avianey.mcts4j.sample.SampleRunner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run a game between two GomokuIA opponent...
+ * The tree is too big to be fully explored so each move is given a time budget.
+ *
+ * @author antoine vianey
+ */
+public class GomokuRunner extends SampleRunner<GomokuTransition> {
+
+    public GomokuRunner() {
+        super(newIA());
+    }
+
+    private static GomokuIA newIA() {
+        GomokuIA ia = new GomokuIA();
+        ia.setBudget(SearchBudget.time(2, TimeUnit.SECONDS));
+        ia.setFinalMoveSelection(FinalMoveSelection.ROBUST_CHILD);
+        // most lines are visited once, do not keep them in memory
+        ia.setExpansionThreshold(8);
+        return ia;
+    }
+
+    public static void main(String[] args) {
+        SampleRunner<GomokuTransition> runner = new GomokuRunner();
+        runner.run();
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.gomoku;
+
+import fr.avianey.mcts4j.Transition;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+
+/**
+ * A Gomoku move : who and where...
+ * Instances are shared, see {@link #of(int, int)}.
+ *
+ * @author antoine vianey
+ */
+public final class GomokuTransition implements Transition {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final GomokuTransition[][] TRANSITIONS = new GomokuTransition[3][GomokuIA.CELLS];
+
+    static {
+        for (int cell = 0; cell < GomokuIA.CELLS; cell++) {
+            TRANSITIONS[GomokuIA.PLAYER_BLACK][cell] = new GomokuTransition(cell, GomokuIA.PLAYER_BLACK);
+            TRANSITIONS[GomokuIA.PLAYER_WHITE][cell] = new GomokuTransition(cell, GomokuIA.PLAYER_WHITE);
+        }
+    }
+
+    /** The player owning the move */
+    private final int player;
+    /** The cell index : y * {@link GomokuIA#SIZE} + x */
+    private final int cell;
+
+    private GomokuTransition(int cell, int player) {
+        this.cell = cell;
+        this.player = player;
+    }
+
+    /**
+     * @param cell The cell index : y * {@link GomokuIA#SIZE} + x
+     * @param player The player owning the move
+     * @return The shared {@link GomokuTransition}
+     * @throws IllegalArgumentException if the cell or the player does not exist
+     */
+    public static GomokuTransition of(int cell, int player) {
+        if (!isValid(cell, player)) {
+            throw new IllegalArgumentException("No cell " + cell + " for player " + player);
+        }
+        return TRANSITIONS[player][cell];
+    }
+
+    private static boolean isValid(int cell, int player) {
+        return cell >= 0 && cell < GomokuIA.CELLS
+                && (player == GomokuIA.PLAYER_BLACK || player == GomokuIA.PLAYER_WHITE);
+    }
+
+    public int getCell() {
+        return cell;
+    }
+
+    public int getX() {
+        return cell % GomokuIA.SIZE;
+    }
+
+    public int getY() {
+        return cell / GomokuIA.SIZE;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    @Override
+    public int hashCode() {
+        return (player << 8) | cell;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || (o instanceof GomokuTransition &&
+                ((GomokuTransition) o).player == player &&
+                ((GomokuTransition) o).cell == cell);
+    }
+
+    /**
+     * Keep instances shared when deserialized.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (!isValid(cell, player)) {
+            throw new InvalidObjectException("No cell " + cell + " for player " + player);
+        }
+        return of(cell, player);
+    }
+
+    public String toString() {
+        return (player == GomokuIA.PLAYER_BLACK ? "B" : "W") + " (" + getX() + ";" + getY() + ")";
+    }
+
+}
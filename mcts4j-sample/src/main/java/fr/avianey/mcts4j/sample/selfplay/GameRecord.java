@@ -0,0 +1,59 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.selfplay;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A self-play game : its moves and its winner.
+ *
+ * @author antoine vianey
+ */
+public final class GameRecord {
+
+    private final long id;
+    private final int winner;
+    private final List<MoveRecord> moves;
+
+    /**
+     * @param id The identifier of the game
+     * @param winner The winner of the game, as returned by getWinner()
+     * @param moves The moves of the game in order
+     */
+    public GameRecord(long id, int winner, List<MoveRecord> moves) {
+        this.id = id;
+        this.winner = winner;
+        this.moves = Collections.unmodifiableList(moves);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public List<MoveRecord> getMoves() {
+        return moves;
+    }
+
+}
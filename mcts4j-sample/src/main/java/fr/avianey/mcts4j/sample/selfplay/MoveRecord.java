@@ -0,0 +1,82 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.selfplay;
+
+/**
+ * A move of a self-play game : the player to move, the chosen transition and the visit distribution
+ * of the root children, transitions being encoded by a {@link TransitionCodec}.
+ *
+ * @author antoine vianey
+ */
+public final class MoveRecord {
+
+    private final int player;
+    private final int chosen;
+    private final int[] transitions;
+    private final int[] visits;
+
+    /**
+     * @param player The player to move
+     * @param chosen The code of the chosen transition
+     * @param transitions The codes of the root children
+     * @param visits The number of simulations of each root child
+     */
+    public MoveRecord(int player, int chosen, int[] transitions, int[] visits) {
+        if (transitions.length != visits.length) {
+            throw new IllegalArgumentException("transitions and visits must have the same length");
+        }
+        this.player = player;
+        this.chosen = chosen;
+        this.transitions = transitions;
+        this.visits = visits;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    public int getChosen() {
+        return chosen;
+    }
+
+    /**
+     * @return The number of root children
+     */
+    public int size() {
+        return transitions.length;
+    }
+
+    /**
+     * @param i index of the root child
+     * @return The code of the i-th root child transition
+     */
+    public int getTransition(int i) {
+        return transitions[i];
+    }
+
+    /**
+     * @param i index of the root child
+     * @return The number of simulations of the i-th root child
+     */
+    public int getVisits(int i) {
+        return visits[i];
+    }
+
+}
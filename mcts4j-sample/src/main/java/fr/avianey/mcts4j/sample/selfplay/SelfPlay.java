@@ -0,0 +1,186 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.selfplay;
+
+import fr.avianey.mcts4j.MonteCarloTreeSearch;
+import fr.avianey.mcts4j.Node;
+import fr.avianey.mcts4j.Transition;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Generate training data by playing many self-play games concurrently.<br/>
+ * Each thread plays one game at a time with its own {@link MonteCarloTreeSearch} and records, for each move,
+ * the visit distribution over the possible transitions, the chosen {@link Transition} and finally the winner. Finished
+ * games go through a bounded queue to a single writer that appends them by batches to a {@link SelfPlayWriter},
+ * so that memory remains flat whatever the number of games.
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public class SelfPlay<T extends Transition> {
+
+    /** Default number of games written between two flushes */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Supplier<? extends MonteCarloTreeSearch<T>> factory;
+    private final TransitionCodec<T> codec;
+    private final int threads;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * @param factory Creates a new game, with its {@link fr.avianey.mcts4j.SearchBudget} set
+     * @param codec Encodes the transitions of the game
+     * @param threads The number of games played concurrently
+     */
+    public SelfPlay(Supplier<? extends MonteCarloTreeSearch<T>> factory, TransitionCodec<T> codec, int threads) {
+        this.factory = factory;
+        this.codec = codec;
+        this.threads = threads;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Play the given number of games and append them to the given file.
+     * @param games The number of games to play
+     * @param file The file to append games to
+     * @throws IOException if games can not be written
+     * @throws ExecutionException if a game failed
+     * @throws InterruptedException
+     */
+    public void run(final long games, File file) throws IOException, ExecutionException, InterruptedException {
+        final BlockingQueue<GameRecord> queue = new ArrayBlockingQueue<>(batchSize * 2);
+        final AtomicLong next = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (SelfPlayWriter writer = new SelfPlayWriter(file)) {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        long id;
+                        while ((id = next.getAndIncrement()) < games) {
+                            queue.put(play(id));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                });
+            }
+            List<GameRecord> batch = new ArrayList<>(batchSize);
+            long written = 0;
+            while (written < games) {
+                if (failure.get() != null) {
+                    throw new ExecutionException(failure.get());
+                }
+                GameRecord game = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (game == null) {
+                    continue;
+                }
+                batch.add(game);
+                queue.drainTo(batch, batchSize - batch.size());
+                for (GameRecord g : batch) {
+                    writer.write(g);
+                }
+                writer.flush();
+                written += batch.size();
+                batch.clear();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Play a whole game.
+     */
+    private GameRecord play(long id) {
+        MonteCarloTreeSearch<T> mcts = factory.get();
+        List<MoveRecord> moves = new ArrayList<>();
+        while (!mcts.isOver()) {
+            int player = mcts.getCurrentPlayer();
+            T transition = mcts.getBestTransition();
+            if (transition == null) {
+                // no possible move
+                break;
+            }
+            moves.add(record(mcts, player, transition));
+            mcts.doTransition(transition);
+        }
+        return new GameRecord(id, mcts.getWinner(), moves);
+    }
+
+    /**
+     * Record the visit distribution of the root children before the chosen {@link Transition} is played.
+     * As only canonical transitions are explored (see {@link MonteCarloTreeSearch#getCanonicalTransition}), the
+     * visits of a root child are shared among the possible transitions it stands for.
+     */
+    private MoveRecord record(MonteCarloTreeSearch<T> mcts, int player, T chosen) {
+        Node<T> root = mcts.getRoot();
+        List<T> possible = new ArrayList<>(mcts.getPossibleTransitions());
+        List<T> canonicals = new ArrayList<>(possible.size());
+        // number of equivalent transitions and visits already shared, by canonical transition
+        Map<T, int[]> classes = new HashMap<>();
+        for (T transition : possible) {
+            T canonical = mcts.getCanonicalTransition(transition);
+            canonicals.add(canonical);
+            classes.computeIfAbsent(canonical, c -> new int[2])[0]++;
+        }
+        int[] transitions = new int[possible.size()];
+        int[] visits = new int[possible.size()];
+        int count = 0;
+        for (int i = 0; i < possible.size(); i++) {
+            Node<T> child = root.getChild(canonicals.get(i));
+            if (child == null) {
+                // unexplored
+                continue;
+            }
+            int[] equivalents = classes.get(canonicals.get(i));
+            long simulations = child.simulations();
+            long share = simulations / equivalents[0] + (equivalents[1]++ < simulations % equivalents[0] ? 1 : 0);
+            transitions[count] = codec.encode(possible.get(i));
+            visits[count] = (int) Math.min(Integer.MAX_VALUE, share);
+            count++;
+        }
+        return new MoveRecord(player, codec.encode(chosen),
+                Arrays.copyOf(transitions, count), Arrays.copyOf(visits, count));
+    }
+
+}
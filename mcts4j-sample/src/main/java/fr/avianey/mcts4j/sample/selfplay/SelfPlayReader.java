@@ -0,0 +1,119 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.selfplay;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read the {@link GameRecord} of a file written by {@link SelfPlayWriter}, one game at a time.
+ *
+ * @author antoine vianey
+ */
+public class SelfPlayReader implements Closeable {
+
+    private final DataInputStream in;
+
+    /**
+     * @param file A file written by {@link SelfPlayWriter}
+     * @throws IOException if the file is not a self-play file
+     */
+    public SelfPlayReader(File file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+        if (in.readInt() != SelfPlayWriter.MAGIC) {
+            in.close();
+            throw new IOException("Not a self-play file : " + file);
+        }
+        byte version = in.readByte();
+        if (version != SelfPlayWriter.VERSION) {
+            in.close();
+            throw new IOException("Unsupported version " + version + " : " + file);
+        }
+    }
+
+    /**
+     * A game torn by a crash at the end of the file is ignored.
+     * @return The next {@link GameRecord} or null if the end of the file has been reached
+     * @throws IOException if a game is corrupted
+     */
+    public GameRecord next() throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Corrupted game length " + length);
+        }
+        byte[] bytes = new byte[length];
+        try {
+            in.readFully(bytes);
+        } catch (EOFException e) {
+            // torn game
+            return null;
+        }
+        DataInputStream game = new DataInputStream(new ByteArrayInputStream(bytes));
+        try {
+            long id = game.readLong();
+            int winner = game.readByte();
+            int count = game.readInt();
+            if (count < 0 || count > length) {
+                throw new IOException("Corrupted game " + id);
+            }
+            List<MoveRecord> moves = new ArrayList<>(count);
+            for (int m = 0; m < count; m++) {
+                int player = game.readByte();
+                int chosen = game.readInt();
+                int children = game.readInt();
+                if (children < 0 || children > length / 8) {
+                    throw new IOException("Corrupted game " + id);
+                }
+                int[] transitions = new int[children];
+                int[] visits = new int[children];
+                for (int i = 0; i < children; i++) {
+                    transitions[i] = game.readInt();
+                    visits[i] = game.readInt();
+                }
+                moves.add(new MoveRecord(player, chosen, transitions, visits));
+            }
+            if (game.available() > 0) {
+                throw new IOException("Corrupted game " + id);
+            }
+            return new GameRecord(id, winner, moves);
+        } catch (EOFException e) {
+            throw new IOException("Corrupted game", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.selfplay;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Append {@link GameRecord} to a binary file.<br/>
+ * The file starts with the {@link #MAGIC} int and the {@link #VERSION} byte followed by games, all values being
+ * big endian :
+ * <pre>
+ * game   : int length, long id, byte winner, int moves, move[moves]
+ * move   : byte player, int chosen, int children, child[children]
+ * child  : int transition, int visits
+ * </pre>
+ * The length of a game is the number of bytes following it, so that a game torn by a crash can be detected.
+ * The header is only written when the file is empty, so that several runs can append to the same file : the header
+ * of a non empty file is checked and a torn game at the end of the file is removed before appending.
+ *
+ * @author antoine vianey
+ */
+public class SelfPlayWriter implements Closeable {
+
+    public static final int MAGIC = 0x4D435453; // MCTS
+    public static final byte VERSION = 2;
+    /** Size of the header */
+    static final int HEADER = 5;
+
+    private final DataOutputStream out;
+    /** The game being written, before its length is known */
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 12);
+    private final DataOutputStream game = new DataOutputStream(buffer);
+
+    /**
+     * @param file The file to append games to
+     * @throws IOException if the file is neither empty nor a self-play file of the current {@link #VERSION}
+     */
+    public SelfPlayWriter(File file) throws IOException {
+        boolean empty = !file.exists() || file.length() == 0;
+        if (!empty) {
+            prepareAppend(file);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), 1 << 16));
+        if (empty) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        }
+    }
+
+    /**
+     * Check the header of the file and remove a torn game at its end.
+     */
+    private static void prepareAppend(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long length = raf.length();
+            if (length < HEADER || raf.readInt() != MAGIC) {
+                throw new IOException("Not a self-play file : " + file);
+            }
+            byte version = raf.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " : " + file);
+            }
+            long position = HEADER;
+            while (position + 4 <= length) {
+                raf.seek(position);
+                int size = raf.readInt();
+                if (size < 0 || position + 4 + size > length) {
+                    break;
+                }
+                position += 4 + size;
+            }
+            if (position < length) {
+                raf.setLength(position);
+            }
+        }
+    }
+
+    /**
+     * Write a game. Written games are only guaranteed to reach the file after {@link #flush()}.
+     * @param record
+     * @throws IOException
+     * @throws IllegalArgumentException if the winner or a player does not fit in a byte
+     */
+    public void write(GameRecord record) throws IOException {
+        buffer.reset();
+        game.writeLong(record.getId());
+        game.writeByte(checkByte(record.getWinner()));
+        game.writeInt(record.getMoves().size());
+        for (MoveRecord move : record.getMoves()) {
+            game.writeByte(checkByte(move.getPlayer()));
+            game.writeInt(move.getChosen());
+            game.writeInt(move.size());
+            for (int i = 0; i < move.size(); i++) {
+                game.writeInt(move.getTransition(i));
+                game.writeInt(move.getVisits(i));
+            }
+        }
+        out.writeInt(buffer.size());
+        buffer.writeTo(out);
+    }
+
+    private static int checkByte(int value) {
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(value + " does not fit in a byte");
+        }
+        return value;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.selfplay;
+
+import fr.avianey.mcts4j.Transition;
+
+/**
+ * Map a {@link Transition} to a compact int code, so that self-play records do not rely on java serialization.
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public interface TransitionCodec<T extends Transition> {
+
+    /**
+     * @param transition a {@link Transition}
+     * @return a code uniquely identifying the {@link Transition}
+     */
+    int encode(T transition);
+
+    /**
+     * @param code a code returned by {@link #encode(Transition)}
+     * @return the matching {@link Transition}
+     */
+    T decode(int code);
+
+}
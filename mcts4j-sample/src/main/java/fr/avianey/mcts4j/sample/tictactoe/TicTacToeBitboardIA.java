@@ -0,0 +1,220 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.tictactoe;
+
+import fr.avianey.mcts4j.UCT;
+import fr.avianey.mcts4j.sample.BitboardMoveSet;
+
+import java.util.Set;
+
+/**
+ * TicTacToe IA using one bitboard per player.<br/>
+ * Cell (x;y) is bit x * 3 + y. Transitions are shared instances, wins are detected incrementally by only
+ * checking the lines going through the last played cell and possible transitions are a live view of the free
+ * cells (see {@link BitboardMoveSet}) : playing and unplaying transitions and random playouts do not allocate
+ * anything. Transitions that are symmetric to each other are explored once
+ * (see {@link TicTacToeSymmetries}).
+ *
+ * @author antoine vianey
+ */
+public class TicTacToeBitboardIA extends UCT<TicTacToeTransition> {
+
+    private static final int GRID_SIZE  = 3;
+    private static final int CELLS      = GRID_SIZE * GRID_SIZE;
+    private static final long FULL      = (1L << CELLS) - 1;
+
+    /** Winning lines going through each cell */
+    private static final long[][] LINES = new long[CELLS][];
+    /** Shared transitions by player and cell */
+    private static final TicTacToeTransition[][] TRANSITIONS = new TicTacToeTransition[3][CELLS];
+
+    static {
+        long[] lines = {
+                0b000000111, 0b000111000, 0b111000000,
+                0b001001001, 0b010010010, 0b100100100,
+                0b100010001, 0b001010100
+        };
+        for (int cell = 0; cell < CELLS; cell++) {
+            int count = 0;
+            for (long line : lines) {
+                if ((line & (1L << cell)) != 0) {
+                    count++;
+                }
+            }
+            LINES[cell] = new long[count];
+            count = 0;
+            for (long line : lines) {
+                if ((line & (1L << cell)) != 0) {
+                    LINES[cell][count++] = line;
+                }
+            }
+            TRANSITIONS[TicTacToeIA.PLAYER_X][cell] = new TicTacToeTransition(cell / GRID_SIZE, cell % GRID_SIZE, TicTacToeIA.PLAYER_X);
+            TRANSITIONS[TicTacToeIA.PLAYER_O][cell] = new TicTacToeTransition(cell / GRID_SIZE, cell % GRID_SIZE, TicTacToeIA.PLAYER_O);
+        }
+    }
+
+    /** Bitboards by player */
+    private final long[] boards = new long[3];
+    private final Moves moves = new Moves();
+
+    private int currentPlayer;
+    private int winner;
+    private int turn;
+    /** Symmetries of the current position or -1 when not computed yet */
+    private int stabilizer = -1;
+
+    public TicTacToeBitboardIA() {
+        super();
+        newGame();
+    }
+
+    public void newGame() {
+        boards[TicTacToeIA.PLAYER_X] = 0;
+        boards[TicTacToeIA.PLAYER_O] = 0;
+        // X start to play
+        currentPlayer = TicTacToeIA.PLAYER_X;
+        winner = TicTacToeIA.FREE;
+        turn = 0;
+        stabilizer = -1;
+    }
+
+    @Override
+    public boolean isOver() {
+        return winner != TicTacToeIA.FREE || turn == CELLS;
+    }
+
+    @Override
+    public void makeTransition(TicTacToeTransition transition) {
+        int cell = transition.getX() * GRID_SIZE + transition.getY();
+        long bit = 1L << cell;
+        if (((boards[TicTacToeIA.PLAYER_X] | boards[TicTacToeIA.PLAYER_O]) & bit) != 0) {
+            throw new RuntimeException();
+        }
+        long board = boards[currentPlayer] |= bit;
+        for (long line : LINES[cell]) {
+            if ((board & line) == line) {
+                winner = currentPlayer;
+                break;
+            }
+        }
+        turn++;
+        currentPlayer = 3 - currentPlayer;
+        stabilizer = -1;
+    }
+
+    @Override
+    public void unmakeTransition(TicTacToeTransition transition) {
+        long bit = 1L << (transition.getX() * GRID_SIZE + transition.getY());
+        int player = 3 - currentPlayer;
+        if ((boards[player] & bit) == 0) {
+            throw new RuntimeException();
+        }
+        boards[player] &= ~bit;
+        // the game stops at the first win
+        winner = TicTacToeIA.FREE;
+        turn--;
+        currentPlayer = player;
+        stabilizer = -1;
+    }
+
+    @Override
+    protected TicTacToeTransition canonicalTransition(TicTacToeTransition transition) {
+        if (stabilizer < 0) {
+            stabilizer = TicTacToeSymmetries.stabilizer(boards[TicTacToeIA.PLAYER_X], boards[TicTacToeIA.PLAYER_O]);
+        }
+        int cell = transition.getX() * GRID_SIZE + transition.getY();
+        int canonical = TicTacToeSymmetries.canonicalCell(cell, stabilizer);
+        return canonical == cell ? transition : TRANSITIONS[transition.getPlayer()][canonical];
+    }
+
+    /**
+     * @return A live view of the possible transitions, see {@link BitboardMoveSet}
+     */
+    @Override
+    public Set<TicTacToeTransition> getPossibleTransitions() {
+        return moves;
+    }
+
+    @Override
+    public TicTacToeTransition simulationTransition() {
+        return moves.random();
+    }
+
+    @Override
+    public TicTacToeTransition expansionTransition() {
+        return moves.random();
+    }
+
+    /**
+     * @return the winner or {@link #DRAW}
+     */
+    @Override
+    public int getWinner() {
+        return winner == TicTacToeIA.FREE ? DRAW : winner;
+    }
+
+    @Override
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                long bit = 1L << (x * GRID_SIZE + y);
+                sb.append((boards[TicTacToeIA.PLAYER_X] & bit) != 0 ? "X" : ((boards[TicTacToeIA.PLAYER_O] & bit) != 0 ? "O" : " "));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    private class Moves extends BitboardMoveSet<TicTacToeTransition> {
+
+        private Moves() {
+            super(1);
+        }
+
+        @Override
+        protected long word(int i) {
+            return winner != TicTacToeIA.FREE ? 0 : ~(boards[TicTacToeIA.PLAYER_X] | boards[TicTacToeIA.PLAYER_O]) & FULL;
+        }
+
+        @Override
+        protected TicTacToeTransition transition(int index) {
+            return TRANSITIONS[currentPlayer][index];
+        }
+
+        @Override
+        protected int index(Object o) {
+            if (!(o instanceof TicTacToeTransition)) {
+                return -1;
+            }
+            TicTacToeTransition t = (TicTacToeTransition) o;
+            if (t.getX() < 0 || t.getX() >= GRID_SIZE || t.getY() < 0 || t.getY() >= GRID_SIZE) {
+                return -1;
+            }
+            return t.getX() * GRID_SIZE + t.getY();
+        }
+
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.Set;
 
 /**
  * Simple TicTacToe IA to showcase the API.
+ * Transitions that are symmetric to each other are explored once (see {@link TicTacToeSymmetries}).
  *
  * @author antoine vianey
  */
@@ -45,6 +46,8 @@ public class TicTacToeIA extends UCT<TicTacToeTransition> {
 
     private int currentPlayer;
     private int turn = 0;
+    /** Symmetries of the current position or -1 when not computed yet */
+    private int stabilizer = -1;
 
     public TicTacToeIA() {
     	super();
@@ -61,6 +64,7 @@ public class TicTacToeIA extends UCT<TicTacToeTransition> {
         // X start to play
         currentPlayer = PLAYER_X;
         turn = 0;
+        stabilizer = -1;
     }
 
     @Override
@@ -94,6 +98,7 @@ public class TicTacToeIA extends UCT<TicTacToeTransition> {
         }
         grid[transition.getX()][transition.getY()] = currentPlayer;
         turn++;
+        stabilizer = -1;
         next();
     }
 
@@ -104,9 +109,32 @@ public class TicTacToeIA extends UCT<TicTacToeTransition> {
         }
         grid[transition.getX()][transition.getY()] = FREE;
         turn--;
+        stabilizer = -1;
         previous();
     }
 
+    @Override
+    protected TicTacToeTransition canonicalTransition(TicTacToeTransition transition) {
+        if (stabilizer < 0) {
+            long x = 0;
+            long o = 0;
+            for (int i = 0; i < GRID_SIZE; i++) {
+                for (int j = 0; j < GRID_SIZE; j++) {
+                    if (grid[i][j] == PLAYER_X) {
+                        x |= 1L << (i * GRID_SIZE + j);
+                    } else if (grid[i][j] == PLAYER_O) {
+                        o |= 1L << (i * GRID_SIZE + j);
+                    }
+                }
+            }
+            stabilizer = TicTacToeSymmetries.stabilizer(x, o);
+        }
+        int cell = transition.getX() * GRID_SIZE + transition.getY();
+        int canonical = TicTacToeSymmetries.canonicalCell(cell, stabilizer);
+        return canonical == cell ? transition :
+                new TicTacToeTransition(canonical / GRID_SIZE, canonical % GRID_SIZE, transition.getPlayer());
+    }
+
     @Override
     public Set<TicTacToeTransition> getPossibleTransitions() {
     	Set<TicTacToeTransition> moves = new HashSet<>();
@@ -162,11 +190,12 @@ public class TicTacToeIA extends UCT<TicTacToeTransition> {
 
 	@Override
 	public int getWinner() {
-		// TODO : handle draw with null return ?
 		if (hasWon(PLAYER_O)) {
 			return PLAYER_O;
-		} else {
+		} else if (hasWon(PLAYER_X)) {
 			return PLAYER_X;
+		} else {
+			return DRAW;
 		}
 	}
 
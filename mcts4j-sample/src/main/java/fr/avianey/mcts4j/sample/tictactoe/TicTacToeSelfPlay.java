@@ -0,0 +1,64 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.tictactoe;
+
+import fr.avianey.mcts4j.FinalMoveSelection;
+import fr.avianey.mcts4j.SearchBudget;
+import fr.avianey.mcts4j.sample.selfplay.SelfPlay;
+import fr.avianey.mcts4j.sample.selfplay.TransitionCodec;
+
+import java.io.File;
+
+/**
+ * Generate TicTacToe self-play games : java TicTacToeSelfPlay &lt;games&gt; &lt;file&gt;
+ *
+ * @author antoine vianey
+ */
+public class TicTacToeSelfPlay {
+
+    /** Encode a {@link TicTacToeTransition} as player * 16 + x * 3 + y */
+    static final TransitionCodec<TicTacToeTransition> CODEC = new TransitionCodec<TicTacToeTransition>() {
+
+        @Override
+        public int encode(TicTacToeTransition transition) {
+            return (transition.getPlayer() << 4) | (transition.getX() * 3 + transition.getY());
+        }
+
+        @Override
+        public TicTacToeTransition decode(int code) {
+            int cell = code & 0xF;
+            return new TicTacToeTransition(cell / 3, cell % 3, code >> 4);
+        }
+
+    };
+
+    public static void main(String[] args) throws Exception {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        File file = new File(args.length > 1 ? args[1] : "tictactoe.selfplay");
+        SelfPlay<TicTacToeTransition> selfPlay = new SelfPlay<>(() -> {
+            TicTacToeBitboardIA ia = new TicTacToeBitboardIA();
+            ia.setBudget(SearchBudget.iterations(2000));
+            ia.setFinalMoveSelection(FinalMoveSelection.ROBUST_CHILD);
+            return ia;
+        }, CODEC, Runtime.getRuntime().availableProcessors());
+        selfPlay.run(games, file);
+    }
+
+}
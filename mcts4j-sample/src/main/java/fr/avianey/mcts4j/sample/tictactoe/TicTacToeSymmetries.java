@@ -0,0 +1,97 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.tictactoe;
+
+/**
+ * The 8 symmetries of the TicTacToe grid (4 rotations, each with or without reflection)
+ * as permutations of the cells, cell (x;y) being x * 3 + y.
+ *
+ * @author antoine vianey
+ */
+final class TicTacToeSymmetries {
+
+    private static final int GRID_SIZE  = 3;
+    private static final int CELLS      = GRID_SIZE * GRID_SIZE;
+    private static final int COUNT      = 8;
+
+    /** Image of each cell by symmetry, the first one being the identity */
+    private static final int[][] PERMUTATIONS = new int[COUNT][CELLS];
+
+    static {
+        for (int x = 0; x < GRID_SIZE; x++) {
+            for (int y = 0; y < GRID_SIZE; y++) {
+                int rx = GRID_SIZE - 1 - x;
+                int ry = GRID_SIZE - 1 - y;
+                int cell = x * GRID_SIZE + y;
+                PERMUTATIONS[0][cell] = x * GRID_SIZE + y;
+                PERMUTATIONS[1][cell] = rx * GRID_SIZE + y;
+                PERMUTATIONS[2][cell] = x * GRID_SIZE + ry;
+                PERMUTATIONS[3][cell] = rx * GRID_SIZE + ry;
+                PERMUTATIONS[4][cell] = y * GRID_SIZE + x;
+                PERMUTATIONS[5][cell] = ry * GRID_SIZE + x;
+                PERMUTATIONS[6][cell] = y * GRID_SIZE + rx;
+                PERMUTATIONS[7][cell] = ry * GRID_SIZE + rx;
+            }
+        }
+    }
+
+    private TicTacToeSymmetries() {}
+
+    /**
+     * The symmetries leaving the given position unchanged.
+     * @param x The bitboard of player X
+     * @param o The bitboard of player O
+     * @return a mask with the bit of each symmetry set, the identity being always included
+     */
+    static int stabilizer(long x, long o) {
+        int stabilizer = 1;
+        for (int s = 1; s < COUNT; s++) {
+            if (permute(x, s) == x && permute(o, s) == o) {
+                stabilizer |= 1 << s;
+            }
+        }
+        return stabilizer;
+    }
+
+    /**
+     * The smallest image of a cell by the given symmetries.
+     * @param cell The cell to map
+     * @param stabilizer The mask of the symmetries to apply, see {@link #stabilizer(long, long)}
+     * @return the canonical cell
+     */
+    static int canonicalCell(int cell, int stabilizer) {
+        int canonical = cell;
+        for (int s = 1; s < COUNT; s++) {
+            if ((stabilizer & (1 << s)) != 0) {
+                canonical = Math.min(canonical, PERMUTATIONS[s][cell]);
+            }
+        }
+        return canonical;
+    }
+
+    private static long permute(long board, int s) {
+        long image = 0;
+        for (long b = board; b != 0; b &= b - 1) {
+            image |= 1L << PERMUTATIONS[s][Long.numberOfTrailingZeros(b)];
+        }
+        return image;
+    }
+
+}
@@ -28,6 +28,8 @@ import fr.avianey.mcts4j.Transition;
  */
 public class TicTacToeTransition implements Transition {
 
+    private static final long serialVersionUID = 1L;
+
     /** The player owning the move */
     private int player;
 
@@ -70,7 +72,7 @@ public class TicTacToeTransition implements Transition {
 
     @Override
     public int hashCode() {
-    	return (player >> 6) | (x >> 3) | y;
+    	return (player << 6) | (x << 3) | y;
     }
 
     @Override
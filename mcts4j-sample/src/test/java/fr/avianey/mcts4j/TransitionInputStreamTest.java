@@ -0,0 +1,96 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import fr.avianey.mcts4j.sample.connectfour.ConnectFourTransition;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TransitionInputStreamTest {
+
+    @Test
+    public void transitionsAreRead() throws Exception {
+        ArrayList<ConnectFourTransition> position = new ArrayList<>(Arrays.asList(
+                ConnectFourTransition.of(3, 1), ConnectFourTransition.of(4, 2)));
+        List<?> read = (List<?>) read(serialize(position));
+        assertEquals(position, read);
+        // shared instances
+        assertSame(position.get(0), read.get(0));
+        assertEquals(42L, read(serialize(42L)));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void mapsAreRejected() throws Exception {
+        read(serialize(new HashMap<String, String>()));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void otherClassesAreRejected() throws Exception {
+        read(serialize(new ArrayList<>(Arrays.asList(new Date()))));
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void outOfRangeTransitionsAreRejected() throws Exception {
+        byte[] bytes = serialize(ConnectFourTransition.of(6, 1));
+        // fields are written in order : column then player
+        byte[] fields = {0, 0, 0, 6, 0, 0, 0, 1};
+        int at = lastIndexOf(bytes, fields);
+        bytes[at + 3] = 99;
+        read(bytes);
+    }
+
+    private static byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (TransitionInputStream in = new TransitionInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte[] pattern) {
+        for (int i = bytes.length - pattern.length; i >= 0; i--) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + pattern.length), pattern)) {
+                return i;
+            }
+        }
+        throw new AssertionError("pattern not found");
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample;
+
+import fr.avianey.mcts4j.SearchBudget;
+import fr.avianey.mcts4j.sample.tictactoe.TicTacToeIA;
+import fr.avianey.mcts4j.sample.tictactoe.TicTacToeTransition;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class MaxDepthTest {
+
+    @Test(timeout = 5000)
+    public void cappedSearchEnds() {
+        TicTacToeIA ia = new TicTacToeIA();
+        ia.setMaxDepth(2);
+        ia.setBudget(SearchBudget.UNLIMITED);
+        assertNotNull(ia.getBestTransition());
+        long count = ia.getNodeCount();
+        // every node down to the maximum depth is exhausted
+        assertNotNull(ia.getBestTransition());
+        assertEquals(count, ia.getNodeCount());
+    }
+
+    @Test(timeout = 5000)
+    public void cappedNodesAreExploredAgainFromTheNewRoot() {
+        TicTacToeIA ia = new TicTacToeIA();
+        ia.setMaxDepth(2);
+        TicTacToeTransition transition = ia.getBestTransition();
+        ia.doTransition(transition);
+        long count = ia.getNodeCount();
+        assertNotNull(ia.getBestTransition());
+        assertTrue("the tree did not grow below the former maximum depth", ia.getNodeCount() > count);
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample;
+
+import fr.avianey.mcts4j.RootParallelCoordinator;
+import fr.avianey.mcts4j.RootParallelWorker;
+import fr.avianey.mcts4j.SearchBudget;
+import fr.avianey.mcts4j.sample.connectfour.ConnectFourIA;
+import fr.avianey.mcts4j.sample.connectfour.ConnectFourTransition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class RootParallelTest {
+
+    private static final int WORKERS = 2;
+    private static final int ITERATIONS = 2000;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<RootParallelWorker<ConnectFourTransition>> workers = new ArrayList<>();
+    private final List<InetSocketAddress> addresses = new ArrayList<>();
+
+    @Before
+    public void startWorkers() throws IOException {
+        for (int i = 0; i < WORKERS; i++) {
+            ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            RootParallelWorker<ConnectFourTransition> worker = new RootParallelWorker<>(ConnectFourIA::new, server);
+            workers.add(worker);
+            addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+            executor.execute(() -> {
+                try {
+                    worker.serve();
+                } catch (IOException e) {
+                    // closed
+                }
+            });
+        }
+    }
+
+    @After
+    public void stopWorkers() throws IOException {
+        for (RootParallelWorker<ConnectFourTransition> worker : workers) {
+            worker.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 30000)
+    public void statisticsOfTheWorkersAreMerged() throws Exception {
+        try (RootParallelCoordinator<ConnectFourTransition> coordinator = new RootParallelCoordinator<>(addresses)) {
+            ConnectFourTransition best = coordinator.search(Collections.emptyList(), SearchBudget.iterations(ITERATIONS));
+            assertNotNull(best);
+            assertEquals(1, best.getPlayer());
+            long simulations = 0;
+            for (long[] statistics : coordinator.getStatistics().values()) {
+                simulations += statistics[0];
+            }
+            assertEquals(WORKERS * ITERATIONS, simulations);
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void concurrentSearchesDoNotMix() throws Exception {
+        try (RootParallelCoordinator<ConnectFourTransition> coordinator = new RootParallelCoordinator<>(addresses)) {
+            final List<ConnectFourTransition> yellowToMove = Collections.singletonList(ConnectFourTransition.of(3, 1));
+            for (int i = 0; i < 5; i++) {
+                Future<ConnectFourTransition> red = executor.submit(() ->
+                        coordinator.search(Collections.emptyList(), SearchBudget.iterations(ITERATIONS)));
+                Future<ConnectFourTransition> yellow = executor.submit(() ->
+                        coordinator.search(yellowToMove, SearchBudget.iterations(ITERATIONS)));
+                assertEquals(1, red.get().getPlayer());
+                assertEquals(2, yellow.get().getPlayer());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample;
+
+import fr.avianey.mcts4j.SearchBudget;
+import fr.avianey.mcts4j.sample.connectfour.ConnectFourIA;
+import fr.avianey.mcts4j.sample.connectfour.ConnectFourTransition;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SearchAsyncTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void completesWithinTheBudget() throws Exception {
+        ConnectFourIA ia = new ConnectFourIA();
+        assertNotNull(ia.searchAsync(SearchBudget.iterations(1000), executor).get());
+        assertRestored(ia);
+    }
+
+    @Test(timeout = 10000)
+    public void cancelStopsTheSearch() throws Exception {
+        ConnectFourIA ia = new ConnectFourIA();
+        CompletableFuture<ConnectFourTransition> future = ia.searchAsync(SearchBudget.UNLIMITED, executor);
+        Thread.sleep(50);
+        assertTrue(future.cancel(true));
+        try {
+            future.get();
+            fail("not cancelled");
+        } catch (CancellationException e) {
+            // expected
+        }
+        assertTrue(future.isCancelled());
+        assertRestored(ia);
+        ia.doTransition(ConnectFourTransition.of(3, 1));
+    }
+
+    @Test(timeout = 10000)
+    public void completeDoesNotWaitForTheRunningSlice() throws Exception {
+        BlockingIA ia = new BlockingIA();
+        CompletableFuture<ConnectFourTransition> future = ia.searchAsync(SearchBudget.UNLIMITED, executor);
+        ia.entered.await();
+        ConnectFourTransition value = ConnectFourTransition.of(0, 1);
+        // the search is stuck in its slice, completing MUST NOT wait for it
+        assertTrue(future.complete(value));
+        assertFalse("done before the state is restored", future.isDone());
+        ia.release.countDown();
+        assertSame(value, future.get());
+        assertRestored(ia);
+    }
+
+    @Test(timeout = 10000)
+    public void timeoutDoesNotBlockTheTimer() throws Exception {
+        BlockingIA ia = new BlockingIA();
+        CompletableFuture<ConnectFourTransition> future = ia.searchAsync(SearchBudget.UNLIMITED, executor);
+        ia.entered.await();
+        // what CompletableFuture.orTimeout does in its delayer thread
+        timer.schedule(() -> future.completeExceptionally(new TimeoutException()), 10, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> {}, 20, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+        assertFalse(future.isDone());
+        ia.release.countDown();
+        try {
+            future.get();
+            fail("not timed out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertRestored(ia);
+    }
+
+    private static void assertRestored(ConnectFourIA ia) {
+        assertEquals(1, ia.getCurrentPlayer());
+        assertEquals(7, ia.getPossibleTransitions().size());
+        assertFalse(ia.isOver());
+    }
+
+    /**
+     * Blocks its first playout until released.
+     */
+    private static class BlockingIA extends ConnectFourIA {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public ConnectFourTransition simulationTransition() {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.simulationTransition();
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample;
+
+import fr.avianey.mcts4j.SearchSessionPool;
+import fr.avianey.mcts4j.sample.connectfour.ConnectFourIA;
+import fr.avianey.mcts4j.sample.connectfour.ConnectFourTransition;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class SearchSessionPoolTest {
+
+    private static final int SLICE = 16;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void sessionsAreServedInTurn() throws Exception {
+        SearchSessionPool pool = new SearchSessionPool(executor, SLICE, Long.MAX_VALUE);
+        ConnectFourIA first = new ConnectFourIA();
+        ConnectFourIA second = new ConnectFourIA();
+        SearchSessionPool.Session<ConnectFourTransition> a = pool.open(first);
+        SearchSessionPool.Session<ConnectFourTransition> b = pool.open(second);
+        CompletableFuture<ConnectFourTransition> fa = a.search(300, TimeUnit.MILLISECONDS);
+        CompletableFuture<ConnectFourTransition> fb = b.search(300, TimeUnit.MILLISECONDS);
+        assertNotNull(fa.get());
+        assertNotNull(fb.get());
+        // a session running to its deadline would leave a single slice to the other one
+        assertTrue("first session starved", first.getNodeCount() > 10 * SLICE);
+        assertTrue("second session starved", second.getNodeCount() > 10 * SLICE);
+    }
+
+    @Test(timeout = 10000)
+    public void searchesStopAtTheNodeBudget() throws Exception {
+        final long budget = 5000;
+        SearchSessionPool pool = new SearchSessionPool(executor, SLICE, budget);
+        SearchSessionPool.Session<ConnectFourTransition> a = pool.open(new ConnectFourIA());
+        SearchSessionPool.Session<ConnectFourTransition> b = pool.open(new ConnectFourIA());
+        CompletableFuture<ConnectFourTransition> fa = a.search(1, TimeUnit.MINUTES);
+        CompletableFuture<ConnectFourTransition> fb = b.search(1, TimeUnit.MINUTES);
+        assertNotNull(fa.get());
+        assertNotNull(fb.get());
+        assertTrue("budget not reached", pool.getNodeCount() >= budget);
+        // each session overshoots by the nodes of a single iteration at most
+        assertTrue("budget overshot by " + (pool.getNodeCount() - budget), pool.getNodeCount() <= budget + 4);
+        a.close();
+        b.close();
+        assertEquals(0, pool.getNodeCount());
+    }
+
+}
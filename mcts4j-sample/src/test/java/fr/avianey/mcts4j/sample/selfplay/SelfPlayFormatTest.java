@@ -0,0 +1,152 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j.sample.selfplay;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class SelfPlayFormatTest {
+
+    private final File file;
+
+    public SelfPlayFormatTest() throws IOException {
+        file = File.createTempFile("selfplay", ".bin");
+    }
+
+    @After
+    public void delete() {
+        file.delete();
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        // counts that do not fit in a short
+        List<GameRecord> games = Arrays.asList(game(1, 1, 3, 4), game(2, -1, 70000, 2), game(3, 2, 1, 70000));
+        write(games);
+        assertGames(games, read());
+    }
+
+    @Test
+    public void appendKeepsPreviousGames() throws IOException {
+        write(Arrays.asList(game(1, 1, 2, 3)));
+        write(Arrays.asList(game(2, 2, 4, 5)));
+        assertGames(Arrays.asList(game(1, 1, 2, 3), game(2, 2, 4, 5)), read());
+    }
+
+    @Test
+    public void tornGameIsIgnored() throws IOException {
+        write(Arrays.asList(game(1, 1, 2, 3), game(2, 2, 4, 5)));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        assertGames(Arrays.asList(game(1, 1, 2, 3)), read());
+        // appending removes the torn game first
+        write(Arrays.asList(game(3, 1, 1, 1)));
+        assertGames(Arrays.asList(game(1, 1, 2, 3), game(3, 1, 1, 1)), read());
+    }
+
+    @Test
+    public void appendChecksTheHeader() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6});
+        }
+        try {
+            new SelfPlayWriter(file).close();
+            fail("header not checked");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void winnerMustFitInAByte() throws IOException {
+        write(Arrays.asList(new GameRecord(1, 1000, new ArrayList<>())));
+    }
+
+    private void write(List<GameRecord> games) throws IOException {
+        try (SelfPlayWriter writer = new SelfPlayWriter(file)) {
+            for (GameRecord game : games) {
+                writer.write(game);
+            }
+        }
+    }
+
+    private List<GameRecord> read() throws IOException {
+        List<GameRecord> games = new ArrayList<>();
+        try (SelfPlayReader reader = new SelfPlayReader(file)) {
+            GameRecord game;
+            while ((game = reader.next()) != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * A game with the given number of moves, each one having the given number of children.
+     */
+    private static GameRecord game(long id, int winner, int moves, int children) {
+        List<MoveRecord> records = new ArrayList<>(moves);
+        for (int m = 0; m < moves; m++) {
+            int[] transitions = new int[children];
+            int[] visits = new int[children];
+            for (int i = 0; i < children; i++) {
+                transitions[i] = i;
+                visits[i] = 100000 + m + i;
+            }
+            records.add(new MoveRecord(1 + m % 2, m % children, transitions, visits));
+        }
+        return new GameRecord(id, winner, records);
+    }
+
+    private static void assertGames(List<GameRecord> expected, List<GameRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int g = 0; g < expected.size(); g++) {
+            GameRecord e = expected.get(g);
+            GameRecord a = actual.get(g);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getWinner(), a.getWinner());
+            assertEquals(e.getMoves().size(), a.getMoves().size());
+            for (int m = 0; m < e.getMoves().size(); m++) {
+                MoveRecord em = e.getMoves().get(m);
+                MoveRecord am = a.getMoves().get(m);
+                assertEquals(em.getPlayer(), am.getPlayer());
+                assertEquals(em.getChosen(), am.getChosen());
+                assertEquals(em.size(), am.size());
+                for (int i = 0; i < em.size(); i++) {
+                    assertEquals(em.getTransition(i), am.getTransition(i));
+                    assertEquals(em.getVisits(i), am.getVisits(i));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+/**
+ * How the {@link Transition} to play is chosen among the children of the root {@link Node} once the search is over.
+ *
+ * @author antoine vianey
+ * @see MonteCarloTreeSearch#setFinalMoveSelection(FinalMoveSelection)
+ */
+public enum FinalMoveSelection {
+
+    /** The child with the highest {@link Node#ratio(int)} */
+    MAX_CHILD,
+    /** The child with the highest number of {@link Node#simulations()} */
+    ROBUST_CHILD,
+    /**
+     * The child with both the highest {@link Node#ratio(int)} and the highest number of {@link Node#simulations()}.
+     * When there's no such child, the search is extended until one emerges (but at most by half of its budget)
+     * and falls back to {@link #ROBUST_CHILD}.
+     */
+    MAX_ROBUST_CHILD,
+    /** The child maximizing the lower confidence bound ratio - 1 / sqrt(simulations) */
+    SECURE_CHILD
+
+}
@@ -19,8 +19,17 @@
  */
 package fr.avianey.mcts4j;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 /**
  * Abstract class implementing the basis of the
@@ -44,15 +53,47 @@ import java.util.Set;
  *
  * @author antoine vianey
  */
-// TODO keep track of number of nodes to evaluate memory footprint
 public abstract class MonteCarloTreeSearch<T extends Transition> {
 
+    /** Number of iterations between two checks of the {@link SearchBudget} */
+    private static final int SLICE = 16;
+
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+
+    /** Returned by {@link #getWinner()} when nobody wins, a draw counts for half a win for every player */
+    public static final int DRAW = -1;
+
+    /** Greatest index of a player, see {@link #getCurrentPlayer()} */
+    public static final int MAX_PLAYER = 63;
+
 	/**
 	 * This is where we are.
 	 * Each {@link Node} keeps a reference to its parent {@link Node} and to each child {@link Node}.
 	 */
     private Node<T> current;
 
+    /** Number of {@link Node} in the exploration tree, used to evaluate memory footprint */
+    private long nodes;
+    /** Number of {@link Node} created and of iterations run since the creation of this instance */
+    private long created;
+    private long playouts;
+
+    /** Free list of discarded {@link Node}, see {@link #setNodePoolCapacity(int)} */
+    private final ArrayDeque<Node<T>> pool = new ArrayDeque<>();
+    private int poolCapacity = 0;
+    /** Reused to walk discarded or reopened sub-trees */
+    private final ArrayDeque<Node<T>> discarded = new ArrayDeque<>();
+
+    private SearchBudget budget = SearchBudget.UNLIMITED;
+    private FinalMoveSelection finalMoveSelection = FinalMoveSelection.MAX_CHILD;
+    private boolean earlyTermination = true;
+    private int expansionThreshold = 0;
+    private int maxDepth = Integer.MAX_VALUE;
+    /** Depth of the {@link Node} returned by the last {@link #selection()} */
+    private int depth;
+    private SearchMonitor<T> monitor;
+    private SnapshotPublisher<T> publisher;
+
     public MonteCarloTreeSearch() {
     	reset();
     }
@@ -61,65 +102,689 @@ public abstract class MonteCarloTreeSearch<T extends Transition> {
      * Creates a new exploration tree.
      */
     public void reset() {
-    	current = new Node<>(null, null, false);
+    	if (current != null) {
+    	    discard(current, null);
+    	}
+    	current = newNode(null, null, false);
+    	nodes = 1;
     }
 
     /**
-     * Get the best {@link Transition} for the current player.
+     * Get the best {@link Transition} for the current player within the {@link SearchBudget} of this instance.
      * Playing a {@link Transition} MUST be done by calling {@link #doTransition(Transition)}
      * unless next call to this method WILL rely on a wrong origin.
      * @return the best {@link Transition} for the current player or null if the current player has no possible move.
+     * @see #setBudget(SearchBudget)
+     * @see #setFinalMoveSelection(FinalMoveSelection)
      */
     public T getBestTransition() {
+        return getBestTransition(budget);
+    }
+
+    /**
+     * Get the best {@link Transition} for the current player within the given {@link SearchBudget}.
+     * When early termination is enabled and the {@link FinalMoveSelection} relies on the number of simulations,
+     * the search stops as soon as the most simulated child of the root {@link Node} can not be overtaken
+     * in the remaining budget.
+     * @param budget The {@link SearchBudget} of the search
+     * @return the best {@link Transition} for the current player or null if the current player has no possible move.
+     * @see #getBestTransition()
+     */
+    public T getBestTransition(SearchBudget budget) {
+        return getBestTransition(budget, NOT_CANCELLED);
+    }
+
+    /**
+     * Same as {@link #getBestTransition(SearchBudget)} but in the given {@link Executor}.
+     * The returned {@link CompletableFuture} completes with the best {@link Transition} once the
+     * {@link SearchBudget} is spent. Completing it before (with {@link CompletableFuture#cancel(boolean)},
+     * a timeout) stops the search without waiting for it : the returned {@link CompletableFuture} is only done
+     * once the running slice of iterations is over and the state has been restored, so that
+     * {@link #doTransition(Transition)} can safely be called once the returned {@link CompletableFuture} is done.
+     * The state MUST NOT be modified by any other mean until then.
+     * @param budget The {@link SearchBudget} of the search
+     * @param executor The {@link Executor} running the search
+     * @return
+     */
+    public CompletableFuture<T> searchAsync(SearchBudget budget, Executor executor) {
+        SearchFuture future = new SearchFuture();
+        executor.execute(() -> future.run(budget));
+        return future;
+    }
+
+    /**
+     * Same as {@link #searchAsync(SearchBudget, Executor)} using the {@link ForkJoinPool#commonPool()}.
+     * @param budget The {@link SearchBudget} of the search
+     * @return
+     */
+    public CompletableFuture<T> searchAsync(SearchBudget budget) {
+        return searchAsync(budget, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #getBestTransition(SearchBudget)} but the search also stops as soon as the given condition
+     * is met, the condition being checked between slices of iterations.
+     * @param budget The {@link SearchBudget} of the search
+     * @param cancelled The condition to stop the search, called by the searching thread
+     * @return
+     */
+    T getBestTransition(SearchBudget budget, BooleanSupplier cancelled) {
         if (getPossibleTransitions().isEmpty()) {
             // no possible transition
             // isOver MUST be true.
             return null;
         }
+        final SearchMonitor<T> monitor = this.monitor;
+        if (monitor != null) {
+            monitor.searchStarted();
+        }
+        final long start = System.nanoTime();
+        final long createdBefore = created;
+        final long playoutsBefore = playouts;
+        T best;
+        try {
+            beforeSearch(budget);
+            best = run(budget, cancelled, start, playoutsBefore);
+        } catch (Throwable t) {
+            if (monitor != null) {
+                monitor.searchFailed(playouts - playoutsBefore, System.nanoTime() - start,
+                        created - createdBefore, t);
+            }
+            throw t;
+        } finally {
+            afterSearch();
+        }
+        if (monitor != null) {
+            monitor.searchCompleted(playouts - playoutsBefore, System.nanoTime() - start,
+                    created - createdBefore, best);
+        }
+        return best;
+    }
+
+    /**
+     * Run the iterations allowed by the {@link SearchBudget} and pick the best {@link Transition}.
+     */
+    private T run(SearchBudget budget, BooleanSupplier cancelled, final long start, final long playoutsBefore) {
+        final SnapshotPublisher<T> publisher = this.publisher != null && this.publisher.hasSubscribers() ?
+                this.publisher : null;
+        long nextSnapshot = publisher == null ? Long.MAX_VALUE : publisher.getInterval();
+        long iterations = 0;
+        long elapsed = 0;
+        boolean explorable = true;
+        while (explorable && iterations < budget.getIterations() && !cancelled.getAsBoolean()) {
+            int slice = (int) Math.min(SLICE, budget.getIterations() - iterations);
+            explorable = search(slice);
+            iterations += slice;
+            elapsed = System.nanoTime() - start;
+            if (elapsed >= nextSnapshot) {
+                publisher.publish(snapshot(publisher, bestTransition(), playouts - playoutsBefore, elapsed, false));
+                nextSnapshot = elapsed + publisher.getInterval();
+            }
+            if (elapsed >= budget.getNanos()
+                    || (earlyTermination && isDecided(remainingIterations(budget, iterations, elapsed)))) {
+                break;
+            }
+        }
+        if (explorable && finalMoveSelection == FinalMoveSelection.MAX_ROBUST_CHILD) {
+            // extend the search until a max robust child emerges
+            final int player = getCurrentPlayer();
+            final long maxIterations = extend(budget.getIterations());
+            final long maxNanos = extend(budget.getNanos());
+            while (explorable && iterations < maxIterations && elapsed < maxNanos
+                    && maxRobustChild(player) == null && !cancelled.getAsBoolean()) {
+                explorable = search(SLICE);
+                iterations += SLICE;
+                elapsed = System.nanoTime() - start;
+                if (elapsed >= nextSnapshot) {
+                    publisher.publish(snapshot(publisher, bestTransition(), playouts - playoutsBefore, elapsed, false));
+                    nextSnapshot = elapsed + publisher.getInterval();
+                }
+            }
+        }
+        T best = bestTransition();
+        if (publisher != null) {
+            publisher.publish(snapshot(publisher, best, playouts - playoutsBefore, System.nanoTime() - start, true));
+        }
+        return best;
+    }
+
+    /**
+     * Picture the children of the root {@link Node} and the principal variation, the state being the one of the
+     * root {@link Node}.
+     */
+    private SearchSnapshot<T> snapshot(SnapshotPublisher<T> publisher, T best, long iterations, long elapsed,
+                                       boolean last) {
+        final int player = getCurrentPlayer();
+        List<Node<T>> sorted = new ArrayList<>(current.getChilds());
+        sorted.sort((a, b) -> Long.compare(b.simulations(), a.simulations()));
+        int count = Math.min(publisher.getChildren(), sorted.size());
+        List<SearchSnapshot.Child<T>> children = new ArrayList<>(count);
+        for (Node<T> child : sorted.subList(0, count)) {
+            children.add(new SearchSnapshot.Child<>(child.getTransition(), child.simulations(), child.ratio(player)));
+        }
+        // follow the most simulated children
+        List<T> principalVariation = new ArrayList<>();
+        Node<T> n = sorted.isEmpty() ? null : sorted.get(0);
+        while (n != null && n.simulations() > 0) {
+            principalVariation.add(n.getTransition());
+            Node<T> next = null;
+            for (int i = 0, c = n.childCount(); i < c; i++) {
+                Node<T> child = n.child(i);
+                if (next == null || child.simulations() > next.simulations()) {
+                    next = child;
+                }
+            }
+            n = next;
+        }
+        return new SearchSnapshot<>(best, children, principalVariation, iterations, elapsed, last);
+    }
+
+    /**
+     * Called before the iterations of {@link #getBestTransition(SearchBudget)} and
+     * {@link #searchAsync(SearchBudget)}, does nothing by default.
+     * @param budget The {@link SearchBudget} of the search
+     */
+    protected void beforeSearch(SearchBudget budget) {}
+
+    /**
+     * Called once {@link #getBestTransition(SearchBudget)} or {@link #searchAsync(SearchBudget)} has chosen
+     * its {@link Transition} or has failed, does nothing by default.
+     */
+    protected void afterSearch() {}
+
+    /**
+     * A {@link CompletableFuture} whose completion by any other mean than the end of the search is deferred until
+     * the running iteration has restored the state. Completing it never waits for the search.
+     */
+    private class SearchFuture extends CompletableFuture<T> {
+
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        /** The completion requested while the search is running, applied by the searching thread */
+        private final AtomicReference<BooleanSupplier> stop = new AtomicReference<>();
+        private volatile Thread runner;
+
+        private void run(SearchBudget budget) {
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                // completed before running
+                return;
+            }
+            runner = Thread.currentThread();
+            T transition = null;
+            Throwable failure = null;
+            try {
+                transition = getBestTransition(budget, () -> stop.get() != null);
+            } catch (Throwable t) {
+                failure = t;
+            }
+            state.set(DONE);
+            BooleanSupplier requested = stop.get();
+            if (requested != null) {
+                // the state is restored, the requested completion wins
+                requested.getAsBoolean();
+            } else if (failure != null) {
+                super.completeExceptionally(failure);
+            } else {
+                super.complete(transition);
+            }
+        }
+
+        /**
+         * Stop the search and complete the future once the state is restored.
+         * @param completion The completion to apply
+         * @return true if the future will be completed by the given completion
+         */
+        private boolean stop(BooleanSupplier completion) {
+            if (isDone()) {
+                return false;
+            }
+            if (state.compareAndSet(PENDING, DONE) || runner == Thread.currentThread()) {
+                // not started or called from the search itself
+                stop.compareAndSet(null, completion);
+                return completion.getAsBoolean();
+            }
+            if (!stop.compareAndSet(null, completion)) {
+                // already stopping
+                return false;
+            }
+            if (state.get() == DONE) {
+                // the search ended before noticing the request
+                completion.getAsBoolean();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean complete(T value) {
+            return stop(() -> super.complete(value));
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            return stop(() -> super.completeExceptionally(ex));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return stop(() -> super.cancel(mayInterruptIfRunning)) || isCancelled();
+        }
+
+    }
+
+    /**
+     * Run at most the given number of iterations (selection, expansion, simulation and back propagation)
+     * from the current root {@link Node}. The state is restored before returning and the exploration
+     * tree is kept, so that the search can be resumed later by calling this method again : this allow
+     * to split the search of a single {@link Transition} into several time slices.
+     * @param iterations The maximum number of iterations to run
+     * @return false if the tree has been fully explored and further calls would be useless
+     * @see #bestTransition()
+     */
+    public boolean search(int iterations) {
+        return search(iterations, NOT_CANCELLED);
+    }
+
+    /**
+     * Same as {@link #search(int)} but no further iteration is run once the given condition is met, the condition
+     * being checked before each iteration.
+     * @param iterations The maximum number of iterations to run
+     * @param stop The condition to stop the search, called by the searching thread
+     * @return false if the tree has been fully explored and further calls would be useless
+     */
+    boolean search(int iterations, BooleanSupplier stop) {
         final int currentPlayer = getCurrentPlayer();
-        Node<T> nodeToExpand;
-        boolean stop = false;
-        // TODO : do it in a interuptable Thread
-        do {
-	        nodeToExpand = selection();
-	        if (nodeToExpand == null) {
-	            break;
+        final SearchMonitor<T> monitor = this.monitor;
+        final int sampling = monitor == null ? 0 : monitor.phaseSampling();
+        for (int i = 0; i < iterations && !stop.getAsBoolean(); i++) {
+            if (sampling > 0 && playouts % sampling == 0) {
+                if (!sampledIteration(monitor)) {
+                    return false;
+                }
+                continue;
+            }
+            final long createdBefore = created;
+            Node<T> nodeToExpand = selection();
+            if (nodeToExpand == null) {
+                return false;
             }
             // the tree has not been fully explored yet
             Node<T> expandedNode = expansion(nodeToExpand);
-            int winner = simulation();
-            backPropagation(expandedNode, winner);
-        } while (!stop);
+            int winner = isSolved(expandedNode) ? expandedNode.outcome() : simulation();
+            backPropagation(expandedNode, winner, (int) (created - createdBefore));
+            playouts++;
+        }
         // state is restored
         assert currentPlayer == getCurrentPlayer();
-        T best = null;
-        double bestValue = Double.NEGATIVE_INFINITY;
+        return true;
+    }
+
+    /**
+     * Same as an iteration of {@link #search(int)} but the duration of each phase is reported to the
+     * {@link SearchMonitor}.
+     */
+    private boolean sampledIteration(SearchMonitor<T> monitor) {
+        final long createdBefore = created;
+        long t0 = System.nanoTime();
+        Node<T> nodeToExpand = selection();
+        if (nodeToExpand == null) {
+            return false;
+        }
+        long t1 = System.nanoTime();
+        Node<T> expandedNode = expansion(nodeToExpand);
+        long t2 = System.nanoTime();
+        int winner = isSolved(expandedNode) ? expandedNode.outcome() : simulation();
+        long t3 = System.nanoTime();
+        backPropagation(expandedNode, winner, (int) (created - createdBefore));
+        long t4 = System.nanoTime();
+        playouts++;
+        monitor.phasesSampled(t1 - t0, t2 - t1, t3 - t2, t4 - t3);
+        return true;
+    }
+
+    /**
+     * Get the best {@link Transition} for the current player according to the exploration done so far
+     * by {@link #search(int)} and to the {@link FinalMoveSelection}, without running any further iteration.
+     * @return the best explored {@link Transition} for the current player or null if nothing has been explored.
+     */
+    public T bestTransition() {
+        final int currentPlayer = getCurrentPlayer();
         // all possible transitions have been set on root node
         // see expansion(N node)
         for (Node<T> child : current.getChilds()) {
-            double value = child.ratio(currentPlayer);
+            if (isSolved(child) && child.outcome() == currentPlayer) {
+                // proven win
+                return child.getTransition();
+            }
+        }
+        Node<T> best;
+        switch (finalMoveSelection) {
+            case ROBUST_CHILD:
+                best = robustChild(currentPlayer);
+                break;
+            case MAX_ROBUST_CHILD:
+                best = maxRobustChild(currentPlayer);
+                if (best == null) {
+                    best = robustChild(currentPlayer);
+                }
+                break;
+            case SECURE_CHILD:
+                best = secureChild(currentPlayer);
+                break;
+            case MAX_CHILD:
+            default:
+                best = maxChild(currentPlayer);
+                break;
+        }
+        if (best == null) {
+            // only proven losses, if any
+            for (Node<T> child : current.getChilds()) {
+                if (best == null || child.simulations() > best.simulations()) {
+                    best = child;
+                }
+            }
+        }
+        return best == null ? null : best.getTransition();
+    }
+
+    /**
+     * Whether the given child of the root {@link Node} is a proven loss for the given player.
+     */
+    private static boolean isLost(Node<?> child, final int player) {
+        return isSolved(child) && child.outcome() != player && child.outcome() != DRAW;
+    }
+
+    /**
+     * Whether the outcome of the given {@link Node} is known.
+     */
+    static boolean isSolved(Node<?> node) {
+        return node.isTerminal() && node.outcome() != Node.UNKNOWN;
+    }
+
+    /**
+     * The child of the root {@link Node} with the highest ratio for the given player, proven losses excepted.
+     */
+    private Node<T> maxChild(final int player) {
+        Node<T> best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node<T> child : current.getChilds()) {
+            if (isLost(child, player)) {
+                continue;
+            }
+            double value = child.ratio(player);
             if (value > bestValue) {
                 bestValue = value;
-                best = child.getTransition();
-                assert best != null;
+                best = child;
             }
         }
         return best;
     }
 
+    /**
+     * The most simulated child of the root {@link Node}, ex-aequo are sorted by ratio for the given player.
+     * Proven losses are ignored.
+     */
+    private Node<T> robustChild(final int player) {
+        Node<T> best = null;
+        for (Node<T> child : current.getChilds()) {
+            if (isLost(child, player)) {
+                continue;
+            }
+            if (best == null || child.simulations() > best.simulations()
+                    || (child.simulations() == best.simulations() && child.ratio(player) > best.ratio(player))) {
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The child of the root {@link Node} that is both the max and the robust child or null if there's no such child.
+     */
+    private Node<T> maxRobustChild(final int player) {
+        Node<T> robust = robustChild(player);
+        if (robust == null) {
+            return null;
+        }
+        for (Node<T> child : current.getChilds()) {
+            if (!isLost(child, player) && child.ratio(player) > robust.ratio(player)) {
+                return null;
+            }
+        }
+        return robust;
+    }
+
+    /**
+     * The child of the root {@link Node} maximizing the lower confidence bound of its ratio, proven losses excepted.
+     */
+    private Node<T> secureChild(final int player) {
+        Node<T> best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node<T> child : current.getChilds()) {
+            if (isLost(child, player)) {
+                continue;
+            }
+            double value = child.ratio(player) - 1 / Math.sqrt(child.simulations());
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether the {@link FinalMoveSelection} can still change in the given number of iterations.
+     * Only {@link FinalMoveSelection#ROBUST_CHILD} and {@link FinalMoveSelection#MAX_ROBUST_CHILD} are considered,
+     * other selections rely on ratios that MIGHT change at any time.
+     * @param remaining The number of remaining iterations
+     * @return true if the most simulated child of the root {@link Node} can not be overtaken anymore
+     */
+    private boolean isDecided(long remaining) {
+        if (finalMoveSelection != FinalMoveSelection.ROBUST_CHILD
+                && finalMoveSelection != FinalMoveSelection.MAX_ROBUST_CHILD) {
+            return false;
+        }
+        final int player = getCurrentPlayer();
+        long first = 0;
+        long second = 0;
+        for (Node<T> child : current.getChilds()) {
+            if (isLost(child, player)) {
+                continue;
+            }
+            long simulations = child.simulations();
+            if (simulations > first) {
+                second = first;
+                first = simulations;
+            } else if (simulations > second) {
+                second = simulations;
+            }
+        }
+        return first - second > remaining
+                && (finalMoveSelection == FinalMoveSelection.ROBUST_CHILD
+                    || maxRobustChild(player) != null);
+    }
+
+    /**
+     * Estimate the number of iterations that can still be run within the {@link SearchBudget}.
+     */
+    private static long remainingIterations(SearchBudget budget, long iterations, long elapsed) {
+        long remaining = budget.getIterations() - iterations;
+        if (budget.isTimed() && elapsed > 0) {
+            // extrapolate from the current speed
+            double estimate = (double) iterations * (budget.getNanos() - elapsed) / elapsed;
+            remaining = Math.min(remaining, (long) Math.ceil(estimate));
+        }
+        return remaining;
+    }
+
+    /**
+     * Add half of the given budget, {@link Long#MAX_VALUE} meaning unbounded.
+     */
+    private static long extend(long budget) {
+        return budget > Long.MAX_VALUE / 3 * 2 ? Long.MAX_VALUE : budget + budget / 2;
+    }
+
+    /**
+     * Set the {@link SearchBudget} used by {@link #getBestTransition()}.
+     * Default to {@link SearchBudget#UNLIMITED}, meaning the tree is fully explored.
+     * @param budget
+     */
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+
+    public SearchBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Set how the best {@link Transition} is chosen among the explored ones.
+     * Default to {@link FinalMoveSelection#MAX_CHILD}.
+     * @param finalMoveSelection
+     */
+    public void setFinalMoveSelection(FinalMoveSelection finalMoveSelection) {
+        this.finalMoveSelection = finalMoveSelection;
+    }
+
+    public FinalMoveSelection getFinalMoveSelection() {
+        return finalMoveSelection;
+    }
+
+    /**
+     * Stop the search as soon as its result can not change within the remaining budget.
+     * Enabled by default, only applies to visit count based {@link FinalMoveSelection}.
+     * @param earlyTermination
+     */
+    public void setEarlyTermination(boolean earlyTermination) {
+        this.earlyTermination = earlyTermination;
+    }
+
+    public boolean isEarlyTermination() {
+        return earlyTermination;
+    }
+
+    /**
+     * Set the {@link SearchMonitor} notified of the searches and of the changes of root.
+     * @param monitor The {@link SearchMonitor} or null to remove the current one
+     */
+    public void setSearchMonitor(SearchMonitor<T> monitor) {
+        this.monitor = monitor;
+    }
+
+    public SearchMonitor<T> getSearchMonitor() {
+        return monitor;
+    }
+
+    /**
+     * Set the {@link SnapshotPublisher} receiving the snapshots of the searches run by
+     * {@link #getBestTransition(SearchBudget)} and {@link #searchAsync(SearchBudget)}, including those of a
+     * {@link TimeManager}. Searches run by {@link #search(int)} publish nothing.
+     * @param publisher The {@link SnapshotPublisher} or null to remove the current one
+     */
+    public void setSnapshotPublisher(SnapshotPublisher<T> publisher) {
+        this.publisher = publisher;
+    }
+
+    public SnapshotPublisher<T> getSnapshotPublisher() {
+        return publisher;
+    }
+
+    /**
+     * Set the number of simulations a {@link Node} must have gone through before any child {@link Node} is added
+     * to it. Until then, simulations are run from the {@link Node} itself and counted in its statistics, so that
+     * lines visited only a few times do not grow the tree. Default to 0 (leaves are expanded at first visit).
+     * @param expansionThreshold
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public void setExpansionThreshold(int expansionThreshold) {
+        if (expansionThreshold < 0) {
+            throw new IllegalArgumentException("expansionThreshold must not be negative");
+        }
+        this.expansionThreshold = expansionThreshold;
+    }
+
+    public int getExpansionThreshold() {
+        return expansionThreshold;
+    }
+
+    /**
+     * Set the maximum depth of the exploration tree below the root {@link Node}.
+     * {@link Node} at this depth are never expanded : a single simulation is run from each of them and they are then
+     * considered exhausted, becoming terminal {@link Node} with an {@link Node#UNKNOWN} outcome. A search within an
+     * unlimited {@link SearchBudget} therefore ends once every {@link Node} down to this depth has been explored.
+     * Those {@link Node} are explored again when the root changes or when the maximum depth is set again.
+     * Default to {@link Integer#MAX_VALUE} (no limit).
+     * @param maxDepth
+     * @throws IllegalArgumentException if the depth is lower than 1
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth must be at least 1");
+        }
+        this.maxDepth = maxDepth;
+        reopen(current);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * The root {@link Node} of the exploration tree, matching the current state.
+     * Its children hold the statistics gathered for each explored {@link Transition} of the current player.
+     * The tree MUST NOT be read while a search is running.
+     * @return
+     */
+    public Node<T> getRoot() {
+        return current;
+    }
+
+    /**
+     * Number of {@link Node} currently held by the exploration tree.
+     * @return the number of {@link Node} reachable from the current root {@link Node}
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
     /**
      * Update the context and change the root of the tree to this context so that it reflects the
      * realization of the given {@link Transition}. This method is the same as {@link #makeTransition(Transition)}
      * but it also change the root of the tree to the {@link Node} reached by the given {@link Transition}.
-     * MUST only be called with a {@link Transition} returned by {@link #getBestTransition()}.
+     * The {@link Transition} SHOULD be returned by {@link #getBestTransition()} : any other possible
+     * {@link Transition} (played by an opponent or replayed from a previous game) that has not been explored,
+     * including the non canonical ones (see {@link #canonicalTransition(Transition)}), discards the exploration tree.
      * @param transition The non null {@link Transition} to play
      * @see #makeTransition(Transition)
      */
-    @SuppressWarnings("unchecked")
 	public final void doTransition(T transition) {
     	makeTransition(transition);
-    	current = current.getChild(transition);
+    	Node<T> child = current.getChild(transition);
+    	if (child == null) {
+    	    // never explored
+    	    long discarded = nodes;
+    	    reset();
+    	    if (monitor != null) {
+    	        monitor.rerooted(transition, discarded, true, nodes);
+    	    }
+    	    return;
+    	}
+    	Node<T> root = current;
+    	current = child;
     	current.makeRoot();
+    	// siblings are recycled or left to the GC
+    	long discarded = discard(root, child);
+    	nodes -= discarded;
+    	if (maxDepth != Integer.MAX_VALUE) {
+    	    // the depth of every node has changed
+    	    reopen(current);
+    	}
+    	if (monitor != null) {
+    	    monitor.rerooted(transition, discarded, false, nodes);
+    	}
     }
 
     /**
@@ -131,65 +796,228 @@ public abstract class MonteCarloTreeSearch<T extends Transition> {
     public final void undoTransition(T transition) {
         unmakeTransition(transition);
         current = new Node<>(current);
+        nodes++;
+    }
+
+    // region Nodes
+
+    /**
+     * Create a child {@link Node}, reusing a discarded {@link Node} when available.
+     */
+    private Node<T> newNode(Node<T> parent, T transition, boolean terminal) {
+        nodes++;
+        created++;
+        Node<T> node = pool.pollLast();
+        if (node == null) {
+            node = new Node<>(parent, transition, terminal);
+        } else {
+            node.init(parent, transition, terminal);
+        }
+        if (terminal) {
+            // the state is the one of the created node
+            node.setOutcome(getWinner());
+        }
+        return node;
     }
 
+    /**
+     * Discard the sub-tree of the given {@link Node}, except for the sub-tree of the kept {@link Node}.
+     * Discarded {@link Node} are recycled as long as the pool is not full, others are left to the GC.
+     * @param root The root of the sub-tree to discard
+     * @param kept The {@link Node} whose sub-tree is kept or null
+     * @return The number of discarded {@link Node}
+     */
+    private long discard(Node<T> root, Node<T> kept) {
+        final long count = root.size() - (kept == null ? 0 : kept.size());
+        if (pool.size() >= poolCapacity) {
+            // nothing to recycle
+            return count;
+        }
+        discarded.push(root);
+        while (!discarded.isEmpty() && pool.size() < poolCapacity) {
+            Node<T> n = discarded.pop();
+            for (int i = 0; i < n.childCount(); i++) {
+                Node<T> child = n.child(i);
+                if (child != kept) {
+                    discarded.push(child);
+                }
+            }
+            n.recycle();
+            pool.add(n);
+        }
+        discarded.clear();
+        return count;
+    }
+
+    /**
+     * Make the {@link Node} of the given sub-tree that were exhausted by the maximum depth non terminal again.
+     * Terminal {@link Node} with an {@link Node#UNKNOWN} outcome can only result from the maximum depth.
+     * @see #setMaxDepth(int)
+     */
+    private void reopen(Node<T> root) {
+        discarded.push(root);
+        while (!discarded.isEmpty()) {
+            Node<T> n = discarded.pop();
+            if (n.isTerminal() && n.outcome() == Node.UNKNOWN) {
+                n.setTerminal(false);
+            }
+            for (int i = 0; i < n.childCount(); i++) {
+                discarded.push(n.child(i));
+            }
+        }
+    }
+
+    /**
+     * Set the maximum number of discarded {@link Node} kept to be reused by the next searches.
+     * When playing a {@link Transition} with {@link #doTransition(Transition)}, the sub-trees of the siblings of the
+     * new root {@link Node} are recycled instead of being left to the GC : this avoid bursts of garbage after each
+     * move at the cost of holding the memory of the pooled {@link Node}. Default to 0 (no recycling).
+     * {@link Node} of the previous tree MUST NOT be referenced anymore once a {@link Transition} has been played.
+     * @param capacity The maximum number of pooled {@link Node}
+     */
+    public void setNodePoolCapacity(int capacity) {
+        this.poolCapacity = capacity;
+        while (pool.size() > capacity) {
+            pool.pollLast();
+        }
+    }
+
+    public int getNodePoolCapacity() {
+        return poolCapacity;
+    }
+
+    /**
+     * Number of discarded {@link Node} waiting to be reused.
+     * @return
+     */
+    public int getPooledNodeCount() {
+        return pool.size();
+    }
+
+    /**
+     * Release the unused capacity of the current tree. This walks the whole tree and SHOULD be called
+     * when the engine is idle, typically while the opponent is thinking.
+     */
+    public void compact() {
+        discarded.push(current);
+        while (!discarded.isEmpty()) {
+            Node<T> n = discarded.pop();
+            n.compact();
+            for (int i = 0; i < n.childCount(); i++) {
+                discarded.push(n.child(i));
+            }
+        }
+    }
+
+    // endregion
+
     // region MCTS
 
     /**
      * Select a leaf {@link Node} to expand. The selection is done by calling {@link #selectTransition(Node, int)}
-     * from child to child until we reach a leaf {@link Node}. The returned {@link Node} MIGHT be terminal (meaning
-     * it was an unexplored child of a leaf {@link Node}).
+     * from child to child until we reach a leaf {@link Node}, a terminal {@link Node} or the maximum depth.
+     * An unexplored child {@link Node} is only created once its parent has reached the expansion threshold.
+     * The returned {@link Node} MIGHT be terminal (meaning it was an unexplored child of a leaf {@link Node} or a
+     * terminal {@link Node} selected by a {@link #selectTransition(Node, int)} that does not skip them).
      * @return The {@link Node} to expand or null if there's nothing else to expand...
      */
     @SuppressWarnings("unchecked")
     private Node<T> selection() {
         Node<T> n = current;
         Node<T> next;
-        final int player = getCurrentPlayer();
+        int depth = 0;
         do {
-            T transition = selectTransition(n, player);
+            // each player seeks its own promising child
+            T transition = selectTransition(n, getCurrentPlayer());
             if (transition == null) {
                 n.setTerminal(true);
+                n.setOutcome(outcome(n));
                 if (n == current) {
                     return null;
                 } else {
                     // node has parent, rewind
                     unmakeTransition(n.getTransition());
                     next = n.getParent();
+                    depth--;
                 }
             } else {
                 next = n.getChild(transition);
+                if (next == null && n.simulations() < expansionThreshold) {
+                    // not simulated enough to grow, simulate from here
+                    break;
+                }
                 makeTransition(transition);
                 if (next == null) {
                     // this transition has never been explored
                     // create child node and expand it
-                    next = new Node<>(n, transition, isOver());
+                    next = newNode(n, transition, isOver());
                 }
+                depth++;
             }
             n = next;
-        } while (!n.isLeaf());
+        } while (!n.isLeaf() && !n.isTerminal() && depth < maxDepth);
+        if (depth >= maxDepth && !n.isTerminal()) {
+            // nothing left to explore below, simulated once and skipped afterwards
+            n.setTerminal(true);
+        }
+        this.depth = depth;
         return n;
     }
 
+    /**
+     * The winner of the game from the given {@link Node} once every child worth exploring is terminal,
+     * the state being the one of the given {@link Node} : the player to move wins if one of its children
+     * is a win, otherwise the outcome is {@link Node#UNKNOWN} if one of its children is not solved, a draw if one
+     * of its children is a draw and a loss otherwise.
+     */
+    private int outcome(Node<T> node) {
+        final int player = getCurrentPlayer();
+        final int count = node.childCount();
+        if (count == 0) {
+            // no possible transition at all
+            return isOver() ? getWinner() : DRAW;
+        }
+        boolean unknown = false;
+        boolean draw = false;
+        int loss = Node.UNKNOWN;
+        for (int i = 0; i < count; i++) {
+            Node<T> child = node.child(i);
+            int o = isSolved(child) ? child.outcome() : Node.UNKNOWN;
+            if (o == player) {
+                return player;
+            } else if (o == Node.UNKNOWN) {
+                unknown = true;
+            } else if (o == DRAW) {
+                draw = true;
+            } else {
+                loss = o;
+            }
+        }
+        return unknown ? Node.UNKNOWN : draw ? DRAW : loss;
+    }
+
     /**
      * Expand the leaf {@link Node} by creating <strong>every</strong> child {@link Node}.<br/>
      * The leaf {@link Node} to expand MIGHT be a terminal {@link Node}, as {{@link #selection()}} MIGHT return a
      * {@link Node} that was just created...
      * After expansion, the leaf {@link Node} has all of its children created.<br/>
+     * The leaf {@link Node} is not expanded at the maximum depth or while it has been simulated less than the
+     * expansion threshold.
      * @param leaf The leaf {@link Node} to expand.
      * @return
      *      The expanded {@link Node} to run the random simulation from.
      *      The expanded {@link Node} MIGHT be a terminal {@link Node}.
      */
     private Node<T> expansion(final Node<T> leaf) {
-        if (leaf.isTerminal()) {
+        if (leaf.isTerminal() || depth >= maxDepth || leaf.simulations() < expansionThreshold) {
             return leaf;
         }
         T transition = expansionTransition();
         if (transition != null) {
+            transition = canonicalTransition(transition);
         	// expand the path with the chosen transition
             makeTransition(transition);
-            return new Node<>(leaf, transition, isOver());
+            return newNode(leaf, transition, isOver());
         } else {
             return leaf;
         }
@@ -220,11 +1048,14 @@ public abstract class MonteCarloTreeSearch<T extends Transition> {
      * Propagate the winner from the expanded {@link Node} up to the current root {@link Node}
      * @param expandedNode The {@link Node} that was expanded.
      * @param winner The winner of the simulation.
+     * @param created The number of {@link Node} created by the iteration, the deepest ones of the path.
      */
-    private void backPropagation(Node<T> expandedNode, final int winner) {
+    private void backPropagation(Node<T> expandedNode, final int winner, final int created) {
         Node<T> n = expandedNode;
+        int depth = 0;
         while (n != null) {
             n.result(winner);
+            n.grow(Math.min(depth++, created));
             Node<T> parent = n.getParent();
             if (parent == null) {
                 // root reached
@@ -244,17 +1075,45 @@ public abstract class MonteCarloTreeSearch<T extends Transition> {
      * <ul>
      * <li>UCT : upper confident bound applied to trees</li>
      * </ul>
-     * This method MUST NOT return a terminal {@link Node}.
+     * This method SHOULD NOT return a terminal {@link Node} : the selection would stop on it and back-propagate
+     * its {@link Node#outcome()} without exploring anything new.
      * @param node a {@link Node} that has already been visited
      * @param player the player for which we are seeking a promising child {@link Node}
      * @return the next {@link Transition} to a non terminal {@link Node} in the selection step
      * 		or null if there's no child to explore
      * 		or null if there's only terminal child nodes
+     * 		or null if a terminal child {@link Node} is a win for the player (see {@link Node#outcome()})
      * @see Node#isTerminal()
      * @see UCT
      */
     public abstract T selectTransition(Node<T> node, int player);
 
+    /**
+     * Map a possible {@link Transition} to the representative of its class of equivalent {@link Transition} from
+     * the current state. Two {@link Transition} are equivalent when a symmetry of the game (rotation, reflection,
+     * ...) leaves the current state unchanged and maps one {@link Transition} to the other : they lead to symmetric
+     * states with the same value and only the representative is explored, so that symmetric sub-trees are not
+     * searched and stored several times. As representatives are possible {@link Transition}, the best
+     * {@link Transition} is always one that can be played as is.<br/>
+     * The given instance MUST be returned when it is already canonical. Default to the identity.
+     * {@link #selectTransition(Node, int)} SHOULD only return canonical {@link Transition}.
+     * @param transition A possible {@link Transition} from the current state
+     * @return the canonical {@link Transition} equivalent to the given one
+     */
+    protected T canonicalTransition(T transition) {
+        return transition;
+    }
+
+    /**
+     * Same as {@link #canonicalTransition(Transition)}, for callers mapping the children of the root {@link Node}
+     * back to every possible {@link Transition} of the current state.
+     * @param transition A possible {@link Transition} from the current state
+     * @return the canonical {@link Transition} equivalent to the given one
+     */
+    public final T getCanonicalTransition(T transition) {
+        return canonicalTransition(transition);
+    }
+
     /**
      * Select the next {@link Transition} during the simulation step
      * @return
@@ -304,14 +1163,16 @@ public abstract class MonteCarloTreeSearch<T extends Transition> {
 
     /**
      * Return the index of the winner when {@link #isOver()} returns true.
-     * @return the index of the winner
+     * Indexes of players MUST be between 0 and {@link #MAX_PLAYER} : {@link Node} store the wins of each
+     * player in an array indexed by player and -1 is {@link #DRAW}.
+     * @return the index of the winner or {@link #DRAW}
      */
-    // TODO : handle draw (also in node and backpropagation)
     public abstract int getWinner();
 
     /**
      * Returns the index of the player for the current state.
-     * @return
+     * @return an index between 0 and {@link #MAX_PLAYER}, preferably small as {@link Node} allocate
+     *      room for the wins of every index up to the greatest one
      */
     // TODO manage players internally
     public abstract int getCurrentPlayer();
@@ -19,17 +19,42 @@
  */
 package fr.avianey.mcts4j;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 public class Node<T extends Transition> {
 
-    private final Map<T, Node<T>> childs;
-    private final Map<Integer, Integer> wins; // TODO Arraylist
+    /** Outcome of a {@link Node} that is not solved, see {@link #outcome()} */
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private static final long[] NO_WINS = new long[0];
+    private static final Node<?>[] NO_CHILD = new Node<?>[0];
+    private static final Map<?, ?> NO_CHILDS = Collections.emptyMap();
+
+    /** Shared empty map until the first child is added */
+    private Map<T, Node<T>> childs;
+    /** Whether the table of childs was sized for its entries by {@link #compact()} since they last changed */
+    private boolean childsCompact = false;
+    /** Same as childs values, for iterations without hashing */
+    private Node<T>[] children;
+    private int childCount = 0;
+    /** Number of {@link Node} in the sub-tree of this {@link Node}, itself included */
+    private int size = 1;
+    /** Wins indexed by player */
+    private long[] wins;
+    private long draws = 0;
     private long simulations = 0;
     private boolean terminal;
-    private final T transition;
+    /** Winner of the game from this {@link Node} once it is solved, {@link #UNKNOWN} otherwise */
+    private int outcome = UNKNOWN;
+    /** Whether every possible transition has a child {@link Node} */
+    private boolean expanded = false;
+    /** Prior probability of the transition that lead to this node, NaN when not evaluated */
+    private double prior = Double.NaN;
+    private T transition;
     private Node<T> parent;
 
     /**
@@ -42,10 +67,11 @@ public class Node<T extends Transition> {
         this.terminal = terminal;
         this.parent = parent;
         this.transition = parent == null ? null : transition;
-        this.childs = new HashMap<>();
-        this.wins = new HashMap<>();
+        this.childs = noChilds();
+        this.children = noChild();
+        this.wins = NO_WINS;
         if (parent != null) {
-            parent.childs.put(transition, this);
+            parent.addChild(transition, this);
         }
     }
 
@@ -57,23 +83,97 @@ public class Node<T extends Transition> {
         this.terminal = false;
         this.parent = null;
         this.transition = null;
-        this.childs = new HashMap<>();
-        this.wins = new HashMap<>();
+        this.childs = noChilds();
+        this.children = noChild();
         this.simulations = child.simulations();
+        this.size = child.size + 1;
         // copy stats
-        childs.put(child.getTransition(), child);
-        for (Map.Entry<Integer, Integer> e : child.wins.entrySet()) {
-            wins.put(e.getKey(), e.getValue());
+        this.wins = child.wins.clone();
+        this.draws = child.draws;
+        addChild(child.getTransition(), child);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Transition> Node<T>[] noChild() {
+        return (Node<T>[]) NO_CHILD;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Transition> Map<T, Node<T>> noChilds() {
+        return (Map<T, Node<T>>) NO_CHILDS;
+    }
+
+    /**
+     * Reuse a recycled {@link Node} as a child {@link Node}, as if it was created with
+     * {@link #Node(Node, Transition, boolean)}.
+     * @see #recycle()
+     */
+    void init(Node<T> parent, T transition, boolean terminal) {
+        this.terminal = terminal;
+        this.parent = parent;
+        this.transition = parent == null ? null : transition;
+        if (parent != null) {
+            parent.addChild(transition, this);
         }
     }
 
+    /**
+     * Forget everything about this {@link Node} so that it can be reused by {@link #init(Node, Transition, boolean)}.
+     * Allocated structures are kept.
+     */
+    void recycle() {
+        childs.clear();
+        childsCompact = false;
+        Arrays.fill(children, 0, childCount, null);
+        childCount = 0;
+        size = 1;
+        Arrays.fill(wins, 0);
+        draws = 0;
+        simulations = 0;
+        terminal = false;
+        outcome = UNKNOWN;
+        expanded = false;
+        prior = Double.NaN;
+        transition = null;
+        parent = null;
+    }
+
+    /**
+     * Release the unused capacity of the child array and of the child map.
+     * Leaves share an empty map and maps already sized for their entries are kept, so that compacting a large
+     * tree only allocates for the nodes that have grown since the last call.
+     */
+    void compact() {
+        if (children.length > childCount) {
+            children = childCount == 0 ? Node.<T>noChild() : Arrays.copyOf(children, childCount);
+        }
+        if (childCount == 0) {
+            childs = noChilds();
+        } else if (!childsCompact) {
+            // a HashMap never shrinks its table, the copy is sized for its entries
+            childs = new HashMap<>(childs);
+            childsCompact = true;
+        }
+    }
+
+    private void addChild(T transition, Node<T> child) {
+        if (childs == NO_CHILDS) {
+            childs = new HashMap<>();
+        }
+        childs.put(transition, child);
+        childsCompact = false;
+        if (childCount == children.length) {
+            children = Arrays.copyOf(children, Math.max(4, childCount * 2));
+        }
+        children[childCount++] = child;
+    }
+
     /**
      * A {@link Node} is terminal when there is no child to explore.
-     * The sub-Tree of this {@link Node} has been fully explored or the {@link Node} correspond
-     * to a configuration where {@link MonteCarloTreeSearch#isOver()} return true.
+     * The sub-Tree of this {@link Node} has been fully explored or solved (see {@link #outcome()}), the
+     * {@link Node} has reached {@link MonteCarloTreeSearch#setMaxDepth(int)} or the {@link Node} correspond to a configuration where {@link MonteCarloTreeSearch#isOver()} return true.
      * @return true If the {@link Node} is a terminal {@link Node}
      */
-    // TODO propagate terminal information from node to node
     public boolean isTerminal() {
         return this.terminal;
     }
@@ -83,14 +183,89 @@ public class Node<T extends Transition> {
     }
 
     /**
-     * Get the value of the {@link Node} for the given player.
+     * The winner of the game from this terminal {@link Node}, assuming every player plays its best
+     * {@link Transition}. A {@link Node} where the player to move has a winning {@link Transition}
+     * is solved as soon as this {@link Transition} is found, other {@link Node} are solved once all
+     * of their children are solved. A terminal {@link Node} whose sub-tree can not be explored any further without
+     * being solved (see {@link MonteCarloTreeSearch#setMaxDepth(int)}) has an {@link #UNKNOWN} outcome.
+     * @return the index of the winner, {@link MonteCarloTreeSearch#DRAW} or {@link #UNKNOWN} if not solved
+     * @see #isTerminal()
+     */
+    public int outcome() {
+        return outcome;
+    }
+
+    void setOutcome(int outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * An expanded {@link Node} has a child {@link Node} for each of its possible {@link Transition}.
+     * @return true if every possible {@link Transition} has already been explored
+     */
+    boolean isExpanded() {
+        return expanded;
+    }
+
+    void setExpanded(boolean expanded) {
+        this.expanded = expanded;
+    }
+
+    /**
+     * The prior probability of the {@link Transition} that lead to this {@link Node}, as evaluated from its parent.
+     * Priors are renormalised over the canonical transitions once the parent is expanded, see {@link UCT}.
+     * @return the prior or NaN if it has not been evaluated yet
+     */
+    double prior() {
+        return prior;
+    }
+
+    void setPrior(double prior) {
+        this.prior = prior;
+    }
+
+    /**
+     * Number of child {@link Node}
+     * @return
+     */
+    int childCount() {
+        return childCount;
+    }
+
+    /**
+     * Number of {@link Node} in the sub-tree of this {@link Node}, itself included, as of the last back propagation
+     * @return
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Account for {@link Node} added to the sub-tree of this {@link Node}
+     * @param added
+     */
+    void grow(int added) {
+        size += added;
+    }
+
+    /**
+     * The i-th child {@link Node}, in creation order
+     * @param i index of the child, lower than {@link #childCount()}
+     * @return
+     */
+    Node<T> child(int i) {
+        return children[i];
+    }
+
+    /**
+     * Get the value of the {@link Node} for the given player : a win counts for 1 and a draw for 1/2.
      * The {@link Node} with the greater value will be picked
      * as the best choice for this player.
      * @param player
      * @return
      */
     public double value(int player) {
-        return wins(player);
+        return wins(player) + draws / 2.0;
     }
 
     /**
@@ -148,42 +323,62 @@ public class Node<T extends Transition> {
     }
 
     /**
-     * Number of simulation back-propagated to this {@link Node} where the given player has won
+     * Ratio of the simulations back-propagated to this {@link Node} where the given player has won,
+     * draws counting for half a win
      * @param player
      * @return
      */
     public double ratio(int player) {
-        Integer w = wins.get(player);
-        if (w == null) {
+        if (simulations == 0) {
             return 0;
         } else {
-            return ((double) w) / simulations;
+            return value(player) / simulations;
         }
     }
 
+    /**
+     * Number of simulations back-propagated to this {@link Node} where the given player has won
+     * @param player
+     * @return
+     */
     public long wins(int player) {
-        Integer w = wins.get(player);
-        if (w == null) {
+        if (player < 0 || player >= wins.length) {
             return 0;
         } else {
-            return w;
+            return wins[player];
         }
     }
 
+    /**
+     * Number of simulations back-propagated to this {@link Node} that ended with a draw
+     * @return
+     */
+    public long draws() {
+        return draws;
+    }
+
     /**
      * Propagate the result of a simulation to this {@link Node}.
      * After a call to this method, {@link #simulations()} is incremented as well as
-     * {@link #wins(int)} for the given winner.
-     * @param winner The winner of the back-propagated simulation
+     * {@link #wins(int)} for the given winner or {@link #draws()}.
+     * @param winner The winner of the back-propagated simulation or {@link MonteCarloTreeSearch#DRAW}
+     * @throws IllegalArgumentException if the winner is neither a draw nor between 0 and
+     *      {@link MonteCarloTreeSearch#MAX_PLAYER}
      */
     public void result(int winner) {
+        if (winner == MonteCarloTreeSearch.DRAW) {
+            simulations++;
+            draws++;
+            return;
+        }
+        if (winner < 0 || winner > MonteCarloTreeSearch.MAX_PLAYER) {
+            throw new IllegalArgumentException("Invalid winner " + winner);
+        }
         simulations++;
-        Integer w = wins.get(winner);
-        if (w == null) {
-            wins.put(winner, 1);
-        } else {
-            wins.put(winner, w + 1);
+        if (winner >= wins.length) {
+            wins = Arrays.copyOf(wins, winner + 1);
         }
+        wins[winner]++;
     }
 
     /**
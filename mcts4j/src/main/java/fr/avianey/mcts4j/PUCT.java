@@ -0,0 +1,69 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import static java.lang.Math.sqrt;
+
+/**
+ * Predictor + UCT : v/n + C * P * sqrt(N) / (1 + n) where P is the prior probability of the child
+ * {@link Transition} as returned by {@link UCT#prior(Transition)}. Unexplored children are valued with a
+ * first play urgency instead of v/n.
+ *
+ * @author antoine vianey
+ */
+public class PUCT implements SelectionPolicy {
+
+    public static final double DEFAULT_EXPLORATION = 1.5;
+    /** Neutral value for an unexplored child */
+    public static final double DEFAULT_FIRST_PLAY_URGENCY = 0.5;
+
+    private final double c;
+    private final double fpu;
+
+    public PUCT() {
+        this(DEFAULT_EXPLORATION, DEFAULT_FIRST_PLAY_URGENCY);
+    }
+
+    /**
+     * @param c The exploration constant
+     * @param fpu The value of an unexplored child
+     */
+    public PUCT(double c, double fpu) {
+        this.c = c;
+        this.fpu = fpu;
+    }
+
+    @Override
+    public double parentTerm(long parentSimulations) {
+        return sqrt(parentSimulations);
+    }
+
+    @Override
+    public double score(double sqrtParent, long simulations, double value, double prior) {
+        double mean = simulations == 0 ? fpu : value / simulations;
+        return mean + c * prior * sqrtParent / (1 + simulations);
+    }
+
+    @Override
+    public boolean usesPriors() {
+        return true;
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spread the search of a single {@link Transition} over several {@link RootParallelWorker}, each one growing its
+ * own tree in its own process (on the same host or not). The statistics of the root children streamed back by the
+ * workers are merged and the most simulated {@link Transition} is chosen.<br/>
+ * A worker that can not be reached within the connect timeout or that does not report anything within the read
+ * timeout fails the search. Interrupting the thread running {@link #search(List, SearchBudget)} closes the
+ * connections to the workers.<br/>
+ * A coordinator MAY run several searches concurrently, each search merging its own statistics.
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public class RootParallelCoordinator<T extends Transition> implements Closeable {
+
+    /** Default interval between two reports of a worker */
+    public static final long DEFAULT_REPORT_INTERVAL = TimeUnit.MILLISECONDS.toNanos(50);
+    /** Default maximum duration to connect to a worker */
+    public static final long DEFAULT_CONNECT_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+    /** Default maximum duration between two reports of a worker */
+    public static final long DEFAULT_READ_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private final List<? extends SocketAddress> workers;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private long reportInterval = DEFAULT_REPORT_INTERVAL;
+    private int connectTimeout = (int) DEFAULT_CONNECT_TIMEOUT;
+    private int readTimeout = (int) DEFAULT_READ_TIMEOUT;
+    /** Connections of the running searches */
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    /** simulations, wins and draws by root child of the last completed search */
+    private volatile Map<T, long[]> statistics = new HashMap<>();
+
+    /**
+     * @param workers The addresses of the {@link RootParallelWorker}
+     */
+    public RootParallelCoordinator(List<? extends SocketAddress> workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Set the interval between two reports of a worker.
+     * @param interval
+     * @param unit
+     */
+    public void setReportInterval(long interval, TimeUnit unit) {
+        this.reportInterval = unit.toNanos(interval);
+    }
+
+    /**
+     * Set the maximum duration to connect to a worker.
+     * @param timeout
+     * @param unit
+     */
+    public void setConnectTimeout(long timeout, TimeUnit unit) {
+        this.connectTimeout = millis(timeout, unit);
+    }
+
+    /**
+     * Set the maximum duration to wait for the next report of a worker.
+     * It MUST be greater than the report interval.
+     * @param timeout
+     * @param unit
+     */
+    public void setReadTimeout(long timeout, TimeUnit unit) {
+        this.readTimeout = millis(timeout, unit);
+    }
+
+    private static int millis(long timeout, TimeUnit unit) {
+        return (int) Math.min(Integer.MAX_VALUE, unit.toMillis(timeout));
+    }
+
+    /**
+     * Search the best {@link Transition} from the given position : each worker runs its own search within
+     * the given {@link SearchBudget}.
+     * @param position The transitions played from the initial state
+     * @param budget The {@link SearchBudget} of each worker
+     * @return the most simulated {@link Transition} among all of the workers or null if nothing has been explored
+     * @throws IOException if a worker failed
+     * @throws InterruptedException
+     */
+    public T search(List<T> position, SearchBudget budget) throws IOException, InterruptedException {
+        final Map<T, long[]> statistics = new ConcurrentHashMap<>();
+        final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+        final ArrayList<T> request = new ArrayList<>(position);
+        List<Future<Void>> futures = new ArrayList<>(workers.size());
+        for (final SocketAddress worker : workers) {
+            futures.add(executor.submit(() -> {
+                query(worker, request, budget, statistics, connections);
+                return null;
+            }));
+        }
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                abort(futures, connections);
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                abort(futures, connections);
+                throw e;
+            }
+        }
+        this.statistics = statistics;
+        T best = null;
+        long visits = -1;
+        for (Map.Entry<T, long[]> e : statistics.entrySet()) {
+            if (e.getValue()[0] > visits) {
+                visits = e.getValue()[0];
+                best = e.getKey();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The merged statistics of the last completed search.
+     * @return the number of simulations, wins for the player to move and draws, by root child
+     */
+    public Map<T, long[]> getStatistics() {
+        Map<T, long[]> copy = new HashMap<>();
+        for (Map.Entry<T, long[]> e : statistics.entrySet()) {
+            copy.put(e.getKey(), e.getValue().clone());
+        }
+        return copy;
+    }
+
+    /**
+     * Stop the queries of the running search : blocking socket operations can not be interrupted so the
+     * connections are closed.
+     */
+    private void abort(List<Future<Void>> futures, Set<Socket> connections) {
+        for (Future<Void> f : futures) {
+            f.cancel(true);
+        }
+        closeSockets(connections);
+    }
+
+    private static void closeSockets(Set<Socket> sockets) {
+        for (Socket socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        closeSockets(sockets);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void query(SocketAddress worker, ArrayList<T> position, SearchBudget budget, Map<T, long[]> statistics,
+                       Set<Socket> connections) throws IOException, ClassNotFoundException {
+        try (Socket socket = new Socket()) {
+            sockets.add(socket);
+            connections.add(socket);
+            try {
+                socket.connect(worker, connectTimeout);
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(readTimeout);
+                ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                out.writeObject(position);
+                out.writeLong(budget.getIterations());
+                out.writeLong(budget.getNanos());
+                out.writeLong(reportInterval);
+                out.flush();
+                TransitionInputStream in = new TransitionInputStream(new BufferedInputStream(socket.getInputStream()));
+                int children;
+                while ((children = in.readInt()) != RootParallelWorker.END) {
+                    for (int i = 0; i < children; i++) {
+                        T transition = (T) in.readObject();
+                        final long simulations = in.readLong();
+                        final long wins = in.readLong();
+                        final long draws = in.readLong();
+                        statistics.merge(transition, new long[] {simulations, wins, draws}, (a, b) -> {
+                            a[0] += b[0];
+                            a[1] += b[1];
+                            a[2] += b[2];
+                            return a;
+                        });
+                    }
+                }
+            } finally {
+                sockets.remove(socket);
+                connections.remove(socket);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Worker side of a root parallel search spread over several processes, see {@link RootParallelCoordinator}.<br/>
+ * For each connection, the worker reads a position (the list of transitions played from the initial state), replays
+ * it on a new {@link MonteCarloTreeSearch} and searches the best {@link Transition} within the requested budget.
+ * Every report interval, the number of simulations, wins and draws gathered by each root child since the previous
+ * report is streamed back to the coordinator :
+ * <pre>
+ * request : Object position (List of transitions), long iterations, long nanos, long report interval nanos
+ * report  : int children, child[children]
+ * child   : Object transition, long simulations, long wins, long draws
+ * end     : int -1
+ * </pre>
+ * Transitions are exchanged using java serialization : only {@link Transition}, lists of {@link Transition} and the
+ * primitive values they are made of are deserialized, any other class is rejected.
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public class RootParallelWorker<T extends Transition> implements Closeable {
+
+    static final int END = -1;
+
+    /** Default maximum duration of a blocking read */
+    public static final long DEFAULT_READ_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private final Supplier<? extends MonteCarloTreeSearch<T>> factory;
+    private final ServerSocket server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private int readTimeout = (int) DEFAULT_READ_TIMEOUT;
+
+    /**
+     * @param factory Creates a new game in its initial state
+     * @param server The {@link ServerSocket} to accept coordinators from
+     */
+    public RootParallelWorker(Supplier<? extends MonteCarloTreeSearch<T>> factory, ServerSocket server) {
+        this.factory = factory;
+        this.server = server;
+    }
+
+    /**
+     * Set the maximum duration to wait for the request of a coordinator once connected.
+     * @param timeout
+     * @param unit
+     */
+    public void setReadTimeout(long timeout, TimeUnit unit) {
+        this.readTimeout = (int) Math.min(Integer.MAX_VALUE, unit.toMillis(timeout));
+    }
+
+    /**
+     * Accept connections until the worker is closed, each connection being served in its own thread.
+     * @throws IOException if the worker has not been closed
+     */
+    public void serve() throws IOException {
+        try {
+            while (!server.isClosed()) {
+                final Socket socket = server.accept();
+                executor.execute(() -> {
+                    try (Socket s = socket) {
+                        handle(s);
+                    } catch (IOException | ClassNotFoundException e) {
+                        // coordinator gone or not speaking the protocol
+                    }
+                });
+            }
+        } catch (IOException e) {
+            if (!server.isClosed()) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(Socket socket) throws IOException, ClassNotFoundException {
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(readTimeout);
+        ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        out.flush();
+        TransitionInputStream in = new TransitionInputStream(new BufferedInputStream(socket.getInputStream()));
+        List<T> position = (List<T>) in.readObject();
+        long iterations = in.readLong();
+        long nanos = in.readLong();
+        long interval = in.readLong();
+
+        MonteCarloTreeSearch<T> mcts = factory.get();
+        for (T transition : position) {
+            mcts.doTransition(transition);
+        }
+        final int player = mcts.getCurrentPlayer();
+        final Map<T, long[]> reported = new HashMap<>();
+        final long start = System.nanoTime();
+        long done = 0;
+        boolean explorable = !mcts.getPossibleTransitions().isEmpty();
+        while (explorable && done < iterations && System.nanoTime() - start < nanos
+                && !Thread.currentThread().isInterrupted()) {
+            long reportAt = System.nanoTime() + interval;
+            do {
+                int slice = (int) Math.min(64, iterations - done);
+                explorable = mcts.search(slice);
+                done += slice;
+            } while (explorable && done < iterations && System.nanoTime() - reportAt < 0
+                    && System.nanoTime() - start < nanos);
+            report(mcts.getRoot(), player, reported, out);
+        }
+        out.writeInt(END);
+        out.flush();
+    }
+
+    /**
+     * Send the statistics of the root children gathered since the previous report.
+     */
+    private void report(Node<T> root, int player, Map<T, long[]> reported, ObjectOutputStream out) throws IOException {
+        out.writeInt(root.getChilds().size());
+        for (Node<T> child : root.getChilds()) {
+            long[] previous = reported.get(child.getTransition());
+            if (previous == null) {
+                previous = new long[3];
+                reported.put(child.getTransition(), previous);
+            }
+            long simulations = child.simulations();
+            long wins = child.wins(player);
+            long draws = child.draws();
+            out.writeObject(child.getTransition());
+            out.writeLong(simulations - previous[0]);
+            out.writeLong(wins - previous[1]);
+            out.writeLong(draws - previous[2]);
+            previous[0] = simulations;
+            previous[1] = wins;
+            previous[2] = draws;
+        }
+        out.flush();
+        // do not keep references to the written transitions
+        out.reset();
+    }
+
+}
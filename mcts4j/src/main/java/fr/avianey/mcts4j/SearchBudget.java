@@ -0,0 +1,99 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the search of a {@link Transition} to a maximum number of iterations and/or a maximum duration.
+ * The search stops as soon as one of the limits is reached, or when the tree has been fully explored.
+ *
+ * @author antoine vianey
+ */
+public final class SearchBudget {
+
+    /** No limit : the tree is fully explored */
+    public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long iterations;
+    private final long nanos;
+
+    private SearchBudget(long iterations, long nanos) {
+        if (iterations < 0 || nanos < 0) {
+            throw new IllegalArgumentException("budget must be positive");
+        }
+        this.iterations = iterations;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @param iterations The maximum number of iterations
+     * @return
+     */
+    public static SearchBudget iterations(long iterations) {
+        return new SearchBudget(iterations, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param duration The maximum duration of the search
+     * @param unit The {@link TimeUnit} of the duration
+     * @return
+     */
+    public static SearchBudget time(long duration, TimeUnit unit) {
+        return new SearchBudget(Long.MAX_VALUE, unit.toNanos(duration));
+    }
+
+    /**
+     * @param iterations The maximum number of iterations
+     * @param duration The maximum duration of the search
+     * @param unit The {@link TimeUnit} of the duration
+     * @return
+     */
+    public static SearchBudget of(long iterations, long duration, TimeUnit unit) {
+        return new SearchBudget(iterations, unit.toNanos(duration));
+    }
+
+    /**
+     * @return The maximum number of iterations or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return The maximum duration in nanoseconds or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return true if the duration of the search is bounded
+     */
+    public boolean isTimed() {
+        return nanos != Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchBudget{iterations=" + iterations + ", nanos=" + nanos + "}";
+    }
+
+}
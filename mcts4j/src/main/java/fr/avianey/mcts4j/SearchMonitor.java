@@ -0,0 +1,89 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+/**
+ * Receives what happens in a {@link MonteCarloTreeSearch}, to feed a profiler or metrics.<br/>
+ * Methods are called by the searching thread and SHOULD return quickly. Without a {@link SearchMonitor},
+ * the search only pays for a null check per event.
+ *
+ * @author antoine vianey
+ * @see MonteCarloTreeSearch#setSearchMonitor(SearchMonitor)
+ *
+ * @param <T>
+ */
+public interface SearchMonitor<T extends Transition> {
+
+    /**
+     * Called at the beginning of each {@link MonteCarloTreeSearch#getBestTransition(SearchBudget)}.
+     */
+    default void searchStarted() {}
+
+    /**
+     * Called at the end of each {@link MonteCarloTreeSearch#getBestTransition(SearchBudget)}, including the ones
+     * run by {@link MonteCarloTreeSearch#searchAsync(SearchBudget)}.
+     * @param iterations The number of iterations run
+     * @param nanos The duration of the search
+     * @param createdNodes The number of {@link Node} created by the search
+     * @param transition The chosen {@link Transition} or null
+     */
+    void searchCompleted(long iterations, long nanos, long createdNodes, T transition);
+
+    /**
+     * Called instead of {@link #searchCompleted(long, long, long, Transition)} when the search throws.
+     * Default to {@link #searchCompleted(long, long, long, Transition)} with a null {@link Transition}.
+     * @param iterations The number of iterations run
+     * @param nanos The duration of the search
+     * @param createdNodes The number of {@link Node} created by the search
+     * @param failure The thrown exception
+     */
+    default void searchFailed(long iterations, long nanos, long createdNodes, Throwable failure) {
+        searchCompleted(iterations, nanos, createdNodes, null);
+    }
+
+    /**
+     * How often the duration of the phases of an iteration are measured.
+     * Queried at the beginning of each call to {@link MonteCarloTreeSearch#search(int)}.
+     * @return 0 to never measure phases or n to measure one iteration out of n
+     */
+    default int phaseSampling() {
+        return 0;
+    }
+
+    /**
+     * Duration of the phases of a sampled iteration, see {@link #phaseSampling()}.
+     * @param selectionNanos
+     * @param expansionNanos
+     * @param simulationNanos
+     * @param backPropagationNanos
+     */
+    default void phasesSampled(long selectionNanos, long expansionNanos, long simulationNanos,
+                               long backPropagationNanos) {}
+
+    /**
+     * Called by {@link MonteCarloTreeSearch#doTransition(Transition)} once the root of the tree has changed.
+     * @param transition The played {@link Transition}
+     * @param discardedNodes The number of {@link Node} discarded with the previous root and siblings
+     * @param reset Whether the played {@link Transition} was not explored and a new tree has been created
+     * @param nodes The number of {@link Node} in the tree after the change of root
+     */
+    default void rerooted(T transition, long discardedNodes, boolean reset, long nodes) {}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serve many concurrent games on a shared {@link Executor}.<br/>
+ * Each game is bound to a {@link Session} that splits the search of a {@link Transition} into slices of a few
+ * iterations (see {@link MonteCarloTreeSearch#search(int)}). Once a slice is done, the {@link Session} is
+ * submitted back to the {@link Executor} : with a FIFO {@link Executor} (such as a fixed thread pool) sessions are
+ * served in a round-robin fashion, so that a single game can not starve the others. Any {@link Executor} will do,
+ * including a virtual thread per task executor on newer JDKs, as long as it does not run a resubmitted task
+ * before the already queued ones.<br/>
+ * A search completes when its deadline is reached, when the tree has been fully explored or when the global
+ * number of {@link Node} held by all of the sessions of the pool exceeds the node budget. The node budget is
+ * checked between iterations : it is overshot by the {@link Node} created by a single iteration of each session
+ * at most.
+ *
+ * @author antoine vianey
+ */
+public class SearchSessionPool {
+
+    /** Default number of iterations run in a row for a given session */
+    public static final int DEFAULT_SLICE = 256;
+
+    private final Executor executor;
+    private final int slice;
+    private final long nodeBudget;
+    private final AtomicLong nodes = new AtomicLong();
+
+    /**
+     * Create a pool with the {@link #DEFAULT_SLICE} and no node budget.
+     * @param executor The {@link Executor} running the slices of every {@link Session}
+     */
+    public SearchSessionPool(Executor executor) {
+        this(executor, DEFAULT_SLICE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param executor The {@link Executor} running the slices of every {@link Session}
+     * @param slice The number of iterations run in a row for a given {@link Session}
+     * @param nodeBudget The maximum number of {@link Node} shared by all of the sessions
+     */
+    public SearchSessionPool(Executor executor, int slice, long nodeBudget) {
+        if (slice <= 0) {
+            throw new IllegalArgumentException("slice must be positive");
+        }
+        this.executor = executor;
+        this.slice = slice;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Open a new {@link Session} for the given game.
+     * The {@link MonteCarloTreeSearch} MUST NOT be used outside of the {@link Session} while a search is running.
+     * @param mcts The game to serve
+     * @return
+     */
+    public <T extends Transition> Session<T> open(MonteCarloTreeSearch<T> mcts) {
+        return new Session<>(mcts);
+    }
+
+    /**
+     * Number of {@link Node} held by the opened sessions, as observed at the end of their last slice.
+     * @return
+     */
+    public long getNodeCount() {
+        return nodes.get();
+    }
+
+    /**
+     * A game served by the {@link SearchSessionPool}.
+     * @param <T>
+     */
+    public class Session<T extends Transition> {
+
+        private final MonteCarloTreeSearch<T> mcts;
+        private final AtomicBoolean searching = new AtomicBoolean();
+        /** {@link Node} count of the game as accounted in the pool */
+        private long accounted = 0;
+        private volatile boolean closed = false;
+
+        private Session(MonteCarloTreeSearch<T> mcts) {
+            this.mcts = mcts;
+        }
+
+        /**
+         * Schedule the search of the best {@link Transition} for the current player.
+         * The returned {@link CompletableFuture} completes with the same value as
+         * {@link MonteCarloTreeSearch#bestTransition()} at the end of the search. Cancelling it stops the
+         * search at the end of the running slice, leaving the state unchanged : a new search can only be
+         * scheduled once the running slice is over.
+         * @param timeout The maximum duration of the search
+         * @param unit The {@link TimeUnit} of the timeout
+         * @return
+         * @throws IllegalStateException if a search is already running or if the session is closed
+         */
+        public CompletableFuture<T> search(long timeout, TimeUnit unit) {
+            if (!searching.compareAndSet(false, true)) {
+                throw new IllegalStateException("A search is already running for this session");
+            }
+            if (closed) {
+                searching.set(false);
+                throw new IllegalStateException("Session is closed");
+            }
+            CompletableFuture<T> future = new CompletableFuture<>();
+            executor.execute(new Slice(future, System.nanoTime() + unit.toNanos(timeout)));
+            return future;
+        }
+
+        /**
+         * Close the session and give back its {@link Node} to the budget of the pool.
+         * MUST NOT be called while a search is running.
+         */
+        public void close() {
+            if (searching.get()) {
+                throw new IllegalStateException("A search is running for this session");
+            }
+            closed = true;
+            nodes.addAndGet(-accounted);
+            accounted = 0;
+        }
+
+        /**
+         * Update the number of {@link Node} of the pool with the current size of the tree.
+         * Tree MIGHT have shrunk since the last slice if a {@link Transition} has been played.
+         */
+        private void account() {
+            long count = mcts.getNodeCount();
+            nodes.addAndGet(count - accounted);
+            accounted = count;
+        }
+
+        private class Slice implements Runnable {
+
+            private final CompletableFuture<T> future;
+            private final long deadline;
+            private boolean started = false;
+
+            private Slice(CompletableFuture<T> future, long deadline) {
+                this.future = future;
+                this.deadline = deadline;
+            }
+
+            @Override
+            public void run() {
+                if (future.isDone()) {
+                    // cancelled
+                    searching.set(false);
+                    return;
+                }
+                boolean explorable;
+                try {
+                    if (!started) {
+                        started = true;
+                        if (mcts.getPossibleTransitions().isEmpty()) {
+                            complete(null);
+                            return;
+                        }
+                    }
+                    explorable = searchSlice();
+                } catch (Throwable t) {
+                    account();
+                    searching.set(false);
+                    future.completeExceptionally(t);
+                    return;
+                }
+                account();
+                if (!explorable || System.nanoTime() - deadline >= 0 || nodes.get() >= nodeBudget) {
+                    complete(mcts.bestTransition());
+                } else {
+                    // back to the end of the queue
+                    executor.execute(this);
+                }
+            }
+
+            /**
+             * Run a slice of iterations, stopping as soon as the node budget is exceeded.
+             */
+            private boolean searchSlice() {
+                if (nodeBudget == Long.MAX_VALUE) {
+                    return mcts.search(slice);
+                }
+                return mcts.search(slice, () -> nodes.get() + mcts.getNodeCount() - accounted >= nodeBudget);
+            }
+
+            private void complete(T transition) {
+                // allow a new search before notifying
+                searching.set(false);
+                future.complete(transition);
+            }
+
+        }
+
+    }
+
+}
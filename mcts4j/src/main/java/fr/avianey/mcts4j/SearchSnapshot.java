@@ -0,0 +1,136 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable picture of a running search, published by the searching thread to a {@link SnapshotPublisher}.
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public final class SearchSnapshot<T extends Transition> {
+
+    /**
+     * Statistics of a child of the root {@link Node}.
+     * @param <T>
+     */
+    public static final class Child<T extends Transition> {
+
+        private final T transition;
+        private final long simulations;
+        private final double ratio;
+
+        Child(T transition, long simulations, double ratio) {
+            this.transition = transition;
+            this.simulations = simulations;
+            this.ratio = ratio;
+        }
+
+        public T getTransition() {
+            return transition;
+        }
+
+        public long getSimulations() {
+            return simulations;
+        }
+
+        /**
+         * @return the {@link Node#ratio(int)} of the child for the player to move at the root {@link Node}
+         */
+        public double getRatio() {
+            return ratio;
+        }
+
+        public String toString() {
+            return transition + " " + simulations + " " + ratio;
+        }
+
+    }
+
+    private final T bestTransition;
+    private final List<Child<T>> children;
+    private final List<T> principalVariation;
+    private final long iterations;
+    private final long nanos;
+    private final boolean last;
+
+    SearchSnapshot(T bestTransition, List<Child<T>> children, List<T> principalVariation,
+                   long iterations, long nanos, boolean last) {
+        this.bestTransition = bestTransition;
+        this.children = Collections.unmodifiableList(children);
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
+        this.iterations = iterations;
+        this.nanos = nanos;
+        this.last = last;
+    }
+
+    /**
+     * @return The best {@link Transition} according to the {@link FinalMoveSelection} or null
+     */
+    public T getBestTransition() {
+        return bestTransition;
+    }
+
+    /**
+     * @return The most simulated children of the root {@link Node}, most simulated first
+     */
+    public List<Child<T>> getChildren() {
+        return children;
+    }
+
+    /**
+     * @return The {@link Transition} leading from the root {@link Node} to the most simulated child, then to its own
+     *      most simulated child and so on
+     */
+    public List<T> getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    /**
+     * @return The number of iterations run since the beginning of the search
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return The time elapsed since the beginning of the search
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return true for the snapshot published once the search is over
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    public String toString() {
+        return "best " + bestTransition + " after " + iterations + " iterations, pv " + principalVariation
+                + ", children " + children;
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+/**
+ * Score used by {@link UCT} to pick the child {@link Node} to follow during the selection step.
+ * The child with the highest score is selected.<br/>
+ * Terms that only depend on the parent {@link Node} are computed once per selection by {@link #parentTerm(long)}
+ * and passed to {@link #score(double, long, double, double)} for each child, so that the scoring loop remains cheap.
+ *
+ * @author antoine vianey
+ * @see UCB1
+ * @see UCB1Tuned
+ * @see PUCT
+ */
+public interface SelectionPolicy {
+
+    /**
+     * Compute the term that only depends on the parent {@link Node}.
+     * @param parentSimulations The number of simulations of the parent {@link Node}
+     * @return
+     */
+    double parentTerm(long parentSimulations);
+
+    /**
+     * Score a child {@link Node}.
+     * @param parentTerm The value returned by {@link #parentTerm(long)} for the parent {@link Node}
+     * @param simulations The number of simulations of the child {@link Node}, 0 when unexplored
+     * @param value The value of the child {@link Node} for the player to move in the parent {@link Node},
+     *              see {@link Node#value(int)}
+     * @param prior The prior probability of the child {@link Transition} or NaN if {@link #usesPriors()} is false
+     * @return
+     */
+    double score(double parentTerm, long simulations, double value, double prior);
+
+    /**
+     * Whether this policy relies on prior probabilities. When true, unexplored children are scored like any other
+     * child (with 0 simulations), otherwise unexplored children are explored first.
+     * @return
+     * @see UCT#prior(Transition)
+     */
+    default boolean usesPriors() {
+        return false;
+    }
+
+}
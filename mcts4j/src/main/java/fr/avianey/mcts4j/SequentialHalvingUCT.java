@@ -0,0 +1,221 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link UCT} using sequential halving at the root {@link Node} instead of a {@link SelectionPolicy}, for searches
+ * with a small {@link SearchBudget} in iterations : the budget is split into log2(k) rounds, each round spreads its
+ * share of the budget evenly over the remaining root transitions and keeps the best half of them for the next
+ * round. Below the root {@link Node}, transitions are selected by {@link UCT#selectTransition(Node, int)}.<br/>
+ * With Gumbel sampling (see {@link #setGumbel(boolean)}), the initial transitions are sampled without replacement
+ * according to their {@link #prior(Transition)} and the transitions are ranked by their Gumbel noise plus their log
+ * prior plus their ratio scaled by the number of simulations (Gumbel AlphaZero).<br/>
+ * The best {@link Transition} is the last remaining one (or the best ranked of the remaining ones if the search
+ * stopped before the last round) : the {@link FinalMoveSelection} is ignored and SHOULD be left to
+ * {@link FinalMoveSelection#MAX_CHILD} so that the search is neither stopped early nor extended. Searches with a time only
+ * {@link SearchBudget} or run with {@link #search(int)} use {@link UCT} at the root {@link Node}.<br/>
+ * Plain sequential halving spreads the first rounds over every root transition : with very few iterations per
+ * transition it can play weaker than {@link UCT}. For such budgets, enable Gumbel sampling so that only a few
+ * transitions are considered.
+ *
+ * @author antoine vianey
+ */
+public abstract class SequentialHalvingUCT<T extends Transition> extends UCT<T> {
+
+    private static final double C_VISIT = 50;
+    private static final double C_SCALE = 1;
+
+    private boolean gumbel = false;
+    private int arms = 16;
+
+    /** Remaining transitions of the running search, empty when no search is planned */
+    private final List<T> candidates = new ArrayList<>();
+    /** Gumbel noise plus log prior by transition */
+    private final Map<T, Double> logits = new HashMap<>();
+    private Node<T> root;
+    private int player;
+    private long budget;
+    private int rounds;
+    /** Number of simulations given to each transition in the current round */
+    private long perArm;
+    /** Next transition to simulate in the current round and number of completed passes over the transitions */
+    private int cursor;
+    private long passes;
+    /** Transition returned at the root for the running iteration and number of root simulations at that time */
+    private T picked;
+    private long pickedAt;
+
+    @Override
+    protected void beforeSearch(SearchBudget budget) {
+        candidates.clear();
+        logits.clear();
+        if (budget.getIterations() == Long.MAX_VALUE) {
+            // no fixed budget to share
+            return;
+        }
+        for (T transition : getPossibleTransitions()) {
+            if (canonicalTransition(transition) == transition) {
+                candidates.add(transition);
+            }
+        }
+        if (gumbel) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (T transition : candidates) {
+                double u = random.nextDouble();
+                logits.put(transition, -Math.log(-Math.log(u == 0 ? Double.MIN_VALUE : u)) + Math.log(prior(transition)));
+            }
+            // top-m sampling without replacement
+            candidates.sort(Comparator.comparingDouble(logits::get).reversed());
+            if (candidates.size() > arms) {
+                candidates.subList(arms, candidates.size()).clear();
+            }
+        }
+        this.root = getRoot();
+        this.player = getCurrentPlayer();
+        this.budget = budget.getIterations();
+        this.rounds = candidates.size() <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(candidates.size() - 1);
+        this.picked = null;
+        startRound();
+    }
+
+    @Override
+    protected void afterSearch() {
+        candidates.clear();
+        logits.clear();
+        root = null;
+        picked = null;
+    }
+
+    @Override
+    public T selectTransition(Node<T> node, int player) {
+        if (node != root || candidates.isEmpty()) {
+            return super.selectTransition(node, player);
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        if (picked != null && pickedAt == node.simulations()) {
+            // selection rewound to the root, the iteration has not been simulated yet
+            return picked;
+        }
+        T transition = candidates.get(cursor++);
+        if (cursor == candidates.size()) {
+            cursor = 0;
+            if (++passes == perArm) {
+                halve();
+            }
+        }
+        picked = transition;
+        pickedAt = node.simulations();
+        return transition;
+    }
+
+    @Override
+    public T bestTransition() {
+        if (candidates.isEmpty() || root != getRoot()) {
+            return super.bestTransition();
+        }
+        for (Node<T> child : root.getChilds()) {
+            if (isSolved(child) && child.outcome() == player) {
+                // proven win
+                return child.getTransition();
+            }
+        }
+        final long max = maxSimulations();
+        return Collections.max(candidates, Comparator.comparingDouble(t -> score(t, max)));
+    }
+
+    /**
+     * Keep the best half of the transitions and start the next round.
+     */
+    private void halve() {
+        budget -= perArm * candidates.size();
+        rounds--;
+        final long max = maxSimulations();
+        candidates.sort(Comparator.comparingDouble((T t) -> score(t, max)).reversed());
+        candidates.subList((candidates.size() + 1) / 2, candidates.size()).clear();
+        startRound();
+    }
+
+    private void startRound() {
+        cursor = 0;
+        passes = 0;
+        perArm = rounds <= 0 ? 1 : Math.max(1, budget / ((long) rounds * candidates.size()));
+    }
+
+    /**
+     * The rank of a transition of the root {@link Node}, proven losses coming last.
+     */
+    private double score(T transition, long maxSimulations) {
+        Node<T> child = root.getChild(transition);
+        if (child == null) {
+            return gumbel ? logits.get(transition) : 0;
+        }
+        if (isSolved(child) && child.outcome() != player && child.outcome() != DRAW) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (!gumbel) {
+            return child.ratio(player);
+        }
+        return logits.get(transition) + (C_VISIT + maxSimulations) * C_SCALE * child.ratio(player);
+    }
+
+    private long maxSimulations() {
+        long max = 0;
+        for (Node<T> child : root.getChilds()) {
+            max = Math.max(max, child.simulations());
+        }
+        return max;
+    }
+
+    /**
+     * Sample the root transitions with Gumbel noise and rank them with their prior.
+     * Default to false (plain sequential halving over every root transition).
+     * @param gumbel
+     */
+    public void setGumbel(boolean gumbel) {
+        this.gumbel = gumbel;
+    }
+
+    public boolean isGumbel() {
+        return gumbel;
+    }
+
+    /**
+     * Set the number of root transitions sampled with Gumbel noise, default to 16.
+     * @param arms
+     */
+    public void setArms(int arms) {
+        this.arms = arms;
+    }
+
+    public int getArms() {
+        return arms;
+    }
+
+}
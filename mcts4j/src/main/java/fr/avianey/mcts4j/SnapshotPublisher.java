@@ -0,0 +1,173 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Publishes {@link SearchSnapshot} of the searches of a {@link MonteCarloTreeSearch} while they are running, for
+ * example to show the current best {@link Transition} and principal variation.<br/>
+ * Snapshots are built by the searching thread between two slices of iterations, at most once per interval, and
+ * once more when the search is over. Each subscriber receives them in its own {@link Executor} : a subscriber
+ * that is not done with the previous snapshot only receives the latest one (intermediate ones are dropped), so that
+ * the searching thread never waits for a subscriber. The {@link Executor} MUST NOT run the subscriber in the
+ * calling thread, neither directly nor through a rejection policy such as
+ * {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy} : the search would wait for the subscriber.
+ * A snapshot rejected by the {@link Executor} is dropped and the subscriber receives the next one.<br/>
+ * Snapshots are published by {@link MonteCarloTreeSearch#getBestTransition(SearchBudget)},
+ * {@link MonteCarloTreeSearch#searchAsync(SearchBudget)} and {@link TimeManager}, but not by
+ * {@link MonteCarloTreeSearch#search(int)} nor by the searches of a {@link SearchSessionPool}.
+ *
+ * <pre>
+ * SnapshotPublisher&lt;T&gt; publisher = new SnapshotPublisher&lt;&gt;(100, TimeUnit.MILLISECONDS, 5);
+ * publisher.subscribe(ui::show, uiExecutor);
+ * mcts.setSnapshotPublisher(publisher);
+ * </pre>
+ *
+ * @author antoine vianey
+ * @see MonteCarloTreeSearch#setSnapshotPublisher(SnapshotPublisher)
+ *
+ * @param <T>
+ */
+public class SnapshotPublisher<T extends Transition> {
+
+    private final long interval;
+    private final int children;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param interval The minimum time between two snapshots of a running search
+     * @param unit The {@link TimeUnit} of the interval
+     * @param children The number of children of the root {@link Node} in each snapshot
+     */
+    public SnapshotPublisher(long interval, TimeUnit unit, int children) {
+        if (interval < 0 || children < 0) {
+            throw new IllegalArgumentException("interval and children must be positive");
+        }
+        this.interval = unit.toNanos(interval);
+        this.children = children;
+    }
+
+    /**
+     * Receive the snapshots of the next searches.
+     * @param subscriber The consumer of the snapshots
+     * @param executor The {@link Executor} delivering the snapshots to the subscriber
+     * @return The {@link Subscription} to cancel
+     */
+    public Subscription subscribe(Consumer<? super SearchSnapshot<T>> subscriber, Executor executor) {
+        Subscription subscription = new Subscription(subscriber, executor);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    long getInterval() {
+        return interval;
+    }
+
+    int getChildren() {
+        return children;
+    }
+
+    boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Offer a snapshot to every subscriber without waiting for any of them.
+     */
+    void publish(SearchSnapshot<T> snapshot) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(snapshot);
+        }
+    }
+
+    /**
+     * The link between a subscriber and the {@link SnapshotPublisher}, delivering snapshots one at a time.
+     */
+    public final class Subscription implements Runnable {
+
+        private final Consumer<? super SearchSnapshot<T>> subscriber;
+        private final Executor executor;
+        /** Latest snapshot not delivered yet */
+        private final AtomicReference<SearchSnapshot<T>> latest = new AtomicReference<>();
+        /** Whether a delivery is scheduled or running */
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private volatile boolean cancelled = false;
+
+        private Subscription(Consumer<? super SearchSnapshot<T>> subscriber, Executor executor) {
+            this.subscriber = subscriber;
+            this.executor = executor;
+        }
+
+        private void offer(SearchSnapshot<T> snapshot) {
+            latest.set(snapshot);
+            schedule();
+        }
+
+        /**
+         * Hand the delivery over to the {@link Executor} unless one is already scheduled or running.
+         */
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // shut down or saturated executor : drop the snapshot, the next one MIGHT be accepted
+                    latest.set(null);
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                SearchSnapshot<T> snapshot = latest.getAndSet(null);
+                if (snapshot != null && !cancelled) {
+                    subscriber.accept(snapshot);
+                }
+            } finally {
+                scheduled.set(false);
+                // a snapshot MIGHT have been offered before the flag was cleared
+                if (latest.get() != null) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Stop receiving snapshots, a snapshot being delivered MIGHT still be received.
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            latest.set(null);
+        }
+
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Allocates the time of a game clock (total time plus an increment per move) to the moves of a
+ * {@link MonteCarloTreeSearch}.<br/>
+ * Each move is given a target duration of the remaining time divided by the estimated number of remaining moves,
+ * plus the increment. The search is run by {@link MonteCarloTreeSearch#getBestTransition(SearchBudget)}, so that
+ * monitors, snapshot publishers and search hooks apply, and the children of the root {@link Node} are watched
+ * between slices of iterations :
+ * <ul>
+ * <li>it stops before the target when the most simulated child dominates the others</li>
+ * <li>it goes on after the target, up to three times the target, while the most simulated child has changed
+ * recently or while the second most simulated child is close to it</li>
+ * </ul>
+ * The chosen {@link Transition} follows the {@link FinalMoveSelection} of the {@link MonteCarloTreeSearch}. With
+ * {@link FinalMoveSelection#MAX_ROBUST_CHILD}, the maximum duration includes the extension of the search.
+ * Playing it MUST still be done by calling {@link MonteCarloTreeSearch#doTransition(Transition)}.
+ *
+ * @author antoine vianey
+ *
+ * @param <T>
+ */
+public class TimeManager<T extends Transition> {
+
+    /** The target is never exceeded by more than this factor */
+    private static final int MAX_EXTENSION = 3;
+    /** Share of the root simulations above which the most simulated child dominates */
+    private static final double DOMINANCE = 0.8;
+    /** Ratio of the simulations of the second most simulated child to the first one above which the search goes on */
+    private static final double CLOSE = 0.7;
+    /** Minimum number of remaining moves assumed, so that the clock never runs out too fast */
+    private static final int MIN_MOVES_LEFT = 8;
+
+    private final MonteCarloTreeSearch<T> mcts;
+    private final long increment;
+    private final int expectedMoves;
+    private long remaining;
+    private int moves = 0;
+
+    /**
+     * @param mcts The {@link MonteCarloTreeSearch} to manage
+     * @param total The time available for the whole game
+     * @param increment The time added to the clock after each move
+     * @param unit The {@link TimeUnit} of the times
+     * @param expectedMoves The expected number of moves of the managed player in a game
+     */
+    public TimeManager(MonteCarloTreeSearch<T> mcts, long total, long increment, TimeUnit unit, int expectedMoves) {
+        if (total <= 0 || increment < 0 || expectedMoves <= 0) {
+            throw new IllegalArgumentException("clock must be positive");
+        }
+        this.mcts = mcts;
+        this.remaining = unit.toNanos(total);
+        this.increment = unit.toNanos(increment);
+        this.expectedMoves = expectedMoves;
+    }
+
+    /**
+     * Search the best {@link Transition} for the current player within the time allocated to the current move.
+     * The time spent is taken from the clock, then the increment is added.
+     * @return the best {@link Transition} for the current player or null if the current player has no possible move.
+     */
+    public T getBestTransition() {
+        Set<T> transitions = mcts.getPossibleTransitions();
+        if (transitions.size() <= 1) {
+            // nothing to think about
+            moves++;
+            remaining += increment;
+            return transitions.isEmpty() ? null : transitions.iterator().next();
+        }
+        final long start = System.nanoTime();
+        final long target = target();
+        long maximum = maximum(target);
+        if (mcts.getFinalMoveSelection() == FinalMoveSelection.MAX_ROBUST_CHILD) {
+            // the search MIGHT be extended by half of its budget
+            maximum = maximum / 3 * 2;
+        }
+        T transition = mcts.getBestTransition(SearchBudget.time(maximum, TimeUnit.NANOSECONDS),
+                new Stop(start, target));
+        remaining = remaining - (System.nanoTime() - start) + increment;
+        moves++;
+        return transition;
+    }
+
+    /**
+     * Stops the search once the most simulated child of the root {@link Node} dominates the others or is stable.
+     */
+    private class Stop implements BooleanSupplier {
+
+        private final long start;
+        private final long target;
+        private Node<T> best = null;
+        private long changed = 0;
+
+        private Stop(long start, long target) {
+            this.start = start;
+            this.target = target;
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            final long elapsed = System.nanoTime() - start;
+            Node<T> first = null;
+            Node<T> second = null;
+            long simulations = 0;
+            for (Node<T> child : mcts.getRoot().getChilds()) {
+                simulations += child.simulations();
+                if (first == null || child.simulations() > first.simulations()) {
+                    second = first;
+                    first = child;
+                } else if (second == null || child.simulations() > second.simulations()) {
+                    second = child;
+                }
+            }
+            if (first != best) {
+                best = first;
+                changed = elapsed;
+            }
+            if (first == null) {
+                return false;
+            }
+            if (elapsed >= target / 4 && first.simulations() >= DOMINANCE * simulations) {
+                // clear winner
+                return true;
+            }
+            long runnerUp = second == null ? 0 : second.simulations();
+            // stable enough
+            return elapsed >= target && changed < elapsed / 2 && runnerUp < CLOSE * first.simulations();
+        }
+
+    }
+
+    /**
+     * The target duration of the current move : the remaining time divided by the estimated number of remaining
+     * moves plus the increment, but never more than half of the remaining time.
+     */
+    private long target() {
+        long target = Math.max(0, remaining) / movesLeft() + increment;
+        return Math.min(target, Math.max(0, remaining) / 2 + increment / 2);
+    }
+
+    /**
+     * The maximum duration of the current move : the target can be extended as long as at least half of the remaining
+     * time is kept for the next moves.
+     */
+    private long maximum(long target) {
+        return Math.max(target, Math.min(target * MAX_EXTENSION, Math.max(0, remaining) / 2 + increment / 2));
+    }
+
+    /**
+     * Estimate the number of moves the managed player still has to play.
+     * Default to the expected number of moves minus the moves already played, but never less than 8.
+     * @return a strictly positive number of moves
+     */
+    protected int movesLeft() {
+        return Math.max(expectedMoves - moves, MIN_MOVES_LEFT);
+    }
+
+    /**
+     * Synchronize the clock with an external one, for example the one of a game server.
+     * @param remaining The time remaining on the clock
+     * @param unit The {@link TimeUnit} of the remaining time
+     */
+    public void setRemaining(long remaining, TimeUnit unit) {
+        this.remaining = unit.toNanos(remaining);
+    }
+
+    /**
+     * @param unit The {@link TimeUnit} of the remaining time
+     * @return The time remaining on the clock, negative when the clock has run out
+     */
+    public long getRemaining(TimeUnit unit) {
+        return unit.convert(remaining, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return The number of moves searched so far
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+
+/**
+ * An {@link ObjectInputStream} that only deserializes {@link Transition}, lists of {@link Transition} and the
+ * plain values they are made of : any other class read from the network is rejected before being instantiated.
+ *
+ * @author antoine vianey
+ */
+class TransitionInputStream extends ObjectInputStream {
+
+    TransitionInputStream(InputStream in) throws IOException {
+        super(in);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        Class<?> c = super.resolveClass(desc);
+        if (!isAllowed(c)) {
+            throw new InvalidClassException(desc.getName(), "not a transition");
+        }
+        return c;
+    }
+
+    @Override
+    protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+        throw new InvalidClassException("proxy", "not a transition");
+    }
+
+    private static boolean isAllowed(Class<?> c) {
+        while (c.isArray()) {
+            c = c.getComponentType();
+        }
+        return c.isPrimitive()
+                || Transition.class.isAssignableFrom(c)
+                || c == ArrayList.class
+                || c == Enum.class
+                || c == String.class
+                || c == Number.class
+                || c == Boolean.class
+                || c == Character.class
+                || (Number.class.isAssignableFrom(c) && c.getName().startsWith("java.lang."));
+    }
+
+}
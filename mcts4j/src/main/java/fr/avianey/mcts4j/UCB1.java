@@ -0,0 +1,57 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import static java.lang.Math.log;
+import static java.lang.Math.sqrt;
+
+/**
+ * Upper Confidence Bound : v/n + C * sqrt(ln(N) / n)
+ *
+ * @author antoine vianey
+ */
+public class UCB1 implements SelectionPolicy {
+
+    public static final double DEFAULT_EXPLORATION = sqrt(2);
+
+    private final double c;
+
+    public UCB1() {
+        this(DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * @param c The exploration constant
+     */
+    public UCB1(double c) {
+        this.c = c;
+    }
+
+    @Override
+    public double parentTerm(long parentSimulations) {
+        return log(parentSimulations);
+    }
+
+    @Override
+    public double score(double logParent, long simulations, double value, double prior) {
+        return value / simulations + c * sqrt(logParent / simulations);
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of mcts4j.
+ * <https://github.com/avianey/mcts4j>
+ *
+ * Copyright (C) 2019 Antoine Vianey
+ *
+ * mcts4j is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * mcts4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
+ */
+package fr.avianey.mcts4j;
+
+import static java.lang.Math.log;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+
+/**
+ * UCB1-Tuned : v/n + C * sqrt(ln(N) / n * min(1/4, V)) where V is an upper bound of the variance of the
+ * results of the child {@link Node}. As results are bounded by 0 and 1, the variance is bounded by
+ * v/n * (1 - v/n) and no additional statistic has to be stored in {@link Node}.
+ *
+ * @author antoine vianey
+ */
+public class UCB1Tuned implements SelectionPolicy {
+
+    public static final double DEFAULT_EXPLORATION = 1;
+
+    private final double c;
+
+    public UCB1Tuned() {
+        this(DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * @param c The exploration constant
+     */
+    public UCB1Tuned(double c) {
+        this.c = c;
+    }
+
+    @Override
+    public double parentTerm(long parentSimulations) {
+        return log(parentSimulations);
+    }
+
+    @Override
+    public double score(double logParent, long simulations, double value, double prior) {
+        double mean = value / simulations;
+        double log = logParent / simulations;
+        double variance = mean - mean * mean + sqrt(2 * log);
+        return mean + c * sqrt(log * min(0.25, variance));
+    }
+
+}
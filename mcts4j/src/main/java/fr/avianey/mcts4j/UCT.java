@@ -1,6 +1,5 @@
 package fr.avianey.mcts4j;
 
-import static java.lang.Math.log;
 /*
  * This file is part of mcts4j.
  * <https://github.com/avianey/mcts4j>
@@ -20,39 +19,181 @@ import static java.lang.Math.log;
  * You should have received a copy of the GNU Lesser General Public License
  * along with mcts4j. If not, see <http://www.gnu.org/licenses/lgpl.html>
  */
-import static java.lang.Math.sqrt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Upper Confidence bound applied to Trees : the child {@link Node} to follow during the selection step is
+ * the one with the highest score according to a {@link SelectionPolicy}, {@link UCB1} by default.
+ *
+ * @author antoine vianey
+ */
 public abstract class UCT<T extends Transition> extends MonteCarloTreeSearch<T> {
 
-    private static final double C = sqrt(2);
+    private SelectionPolicy policy = new UCB1();
+    /** Reused by the selection relying on priors */
+    private final List<T> canonicals = new ArrayList<>();
+    private double[] priors = new double[16];
 
     // TODO if node is leaf pick random transition
     @Override
-    @SuppressWarnings("unchecked")
     public T selectTransition(Node<T> node, final int player) {
+        final SelectionPolicy policy = this.policy;
+        final double parentTerm = policy.parentTerm(node.simulations());
+        if (!node.isExpanded()) {
+            return selectUnexpanded(node, player, policy, parentTerm);
+        }
+        // every possible transition has a child node
         double v = Double.NEGATIVE_INFINITY;
+        Node<T> best = null;
+        for (int i = 0, count = node.childCount(); i < count; i++) {
+            Node<T> n = node.child(i);
+            if (!n.isTerminal()) {
+                // child already explored and non terminal
+                assert n.simulations() > 0;
+                // TODO : add a random hint to avoid ex-aequo
+                double value = policy.score(parentTerm, n.simulations(), n.value(player), n.prior());
+                if (value > v) {
+                    v = value;
+                    best = n;
+                }
+            } else if (n.outcome() == player) {
+                // winning transition, the node is solved
+                return null;
+            }
+        }
+        return best == null ? null : best.getTransition();
+    }
+
+    /**
+     * Selection among the possible transitions when some of them MIGHT not have been explored yet.
+     * The {@link Node} is marked as expanded once every possible canonical transition has a child {@link Node}.
+     */
+    private T selectUnexpanded(Node<T> node, final int player, SelectionPolicy policy, double parentTerm) {
+        if (policy.usesPriors()) {
+            return selectUnexpandedWithPriors(node, player, policy, parentTerm);
+        }
         T best = null;
+        double v = Double.NEGATIVE_INFINITY;
         for (T transition : getPossibleTransitions()) {
+            if (canonicalTransition(transition) != transition) {
+                // symmetric to another transition
+                continue;
+            }
             Node<T> n = node.getChild(transition);
             if (n == null) {
                 // unexplored path
                 return transition;
-            }
-            if (!n.isTerminal()) {
+            } else if (!n.isTerminal()) {
                 // child already explored and non terminal
-                long simulations = n.simulations();
-                assert simulations > 0;
-                long wins = n.wins(player);
-                // w/n + C * Math.sqrt(ln(n(p)) / n)
-                // TODO : add a random hint to avoid ex-aequo
-                double value = (simulations == 0 ? 0 : wins / simulations + C * sqrt(log(node.simulations()) / simulations));
+                double value = policy.score(parentTerm, n.simulations(), n.value(player), Double.NaN);
                 if (value > v) {
                     v = value;
                     best = transition;
                 }
+            } else if (n.outcome() == player) {
+                // winning transition, the node is solved
+                return null;
             }
         }
+        node.setExpanded(true);
         return best;
     }
 
+    /**
+     * Same as {@link #selectUnexpanded(Node, int, SelectionPolicy, double)} for policies relying on priors :
+     * unexplored children are scored like any other. Priors are only evaluated for the canonical transitions and
+     * renormalised over them, the renormalised priors being stored in the children once the {@link Node} is
+     * expanded.
+     */
+    private T selectUnexpandedWithPriors(Node<T> node, final int player, SelectionPolicy policy, double parentTerm) {
+        final List<T> transitions = this.canonicals;
+        transitions.clear();
+        double[] priors = this.priors;
+        double sum = 0;
+        for (T transition : getPossibleTransitions()) {
+            if (canonicalTransition(transition) != transition) {
+                // symmetric to another transition
+                continue;
+            }
+            Node<T> n = node.getChild(transition);
+            double prior;
+            if (n == null) {
+                prior = prior(transition);
+            } else {
+                prior = n.prior();
+                if (Double.isNaN(prior)) {
+                    prior = prior(transition);
+                    n.setPrior(prior);
+                }
+            }
+            int i = transitions.size();
+            if (i == priors.length) {
+                priors = this.priors = Arrays.copyOf(priors, Math.max(16, i * 2));
+            }
+            priors[i] = prior;
+            transitions.add(transition);
+            sum += prior;
+        }
+        final double norm = sum > 0 ? 1 / sum : 0;
+        boolean expanded = true;
+        double v = Double.NEGATIVE_INFINITY;
+        T best = null;
+        for (int i = 0, count = transitions.size(); i < count; i++) {
+            T transition = transitions.get(i);
+            Node<T> n = node.getChild(transition);
+            double value;
+            if (n == null) {
+                // unexplored path
+                expanded = false;
+                value = policy.score(parentTerm, 0, 0, priors[i] * norm);
+            } else if (!n.isTerminal()) {
+                // child already explored and non terminal
+                value = policy.score(parentTerm, n.simulations(), n.value(player), priors[i] * norm);
+            } else if (n.outcome() == player) {
+                // winning transition, the node is solved
+                return null;
+            } else {
+                continue;
+            }
+            if (value > v) {
+                v = value;
+                best = transition;
+            }
+        }
+        if (expanded) {
+            // priors stored in the children are used as is from now on
+            for (int i = 0, count = transitions.size(); i < count; i++) {
+                node.getChild(transitions.get(i)).setPrior(priors[i] * norm);
+            }
+            node.setExpanded(true);
+        }
+        return best;
+    }
+
+    /**
+     * The prior probability of playing the given {@link Transition} from the current state, used by
+     * {@link SelectionPolicy} relying on priors such as {@link PUCT}. Priors are only evaluated for canonical
+     * transitions (see {@link #canonicalTransition(Transition)}) and are renormalised over them. Priors of explored
+     * transitions are evaluated once and stored in the child {@link Node}. Default to an uniform distribution.
+     * @param transition A possible {@link Transition} from the current state
+     * @return a probability between 0 and 1
+     */
+    protected double prior(T transition) {
+        return 1.0 / getPossibleTransitions().size();
+    }
+
+    /**
+     * Set the {@link SelectionPolicy} used during the selection step.
+     * @param policy
+     */
+    public void setSelectionPolicy(SelectionPolicy policy) {
+        this.policy = policy;
+    }
+
+    public SelectionPolicy getSelectionPolicy() {
+        return policy;
+    }
+
 }